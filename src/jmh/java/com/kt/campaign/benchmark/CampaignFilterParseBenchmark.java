@@ -0,0 +1,185 @@
+package com.kt.campaign.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kt.campaign.entity.CampaignFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 캠페인 필터 파싱 비용 비교 - 기존 Map 직접 해석 vs CampaignFilter
+ *
+ * 입력은 컨트롤러가 받는 것과 같은 형태(Jackson 이 만든 enabled/value 구조 Map)입니다.
+ * - legacyPreview: 도입 전 previewCampaign 의 Map 해석 + countActiveFilters (미리보기 요청당 두 번 순회)
+ * - legacyCreate: 도입 전 createCampaign (미리보기 재실행) + createCampaignTargets 의 재해석 (세 번 순회)
+ * - parse: CampaignFilter.from (요청당 한 번)
+ * - parseAndCacheKey: from + hashCode (미리보기 캐시 조회 키)
+ * - parseAndCanonicalKey: from + canonicalKey (캠페인 생성 시 filter_key 저장)
+ *
+ * 기존 코드의 해석 로직은 그대로 옮겼고, 해석 중 출력하던 로그(System.out)만 제외했습니다.
+ *
+ * 실행: ./gradlew jmhJar 후 java -jar build/libs/*-jmh.jar CampaignFilterParseBenchmark
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CampaignFilterParseBenchmark {
+
+    private static final String ALL_FILTERS = "{"
+        + "\"gender\":{\"enabled\":true,\"value\":\"F\"},"
+        + "\"region\":{\"enabled\":true,\"value\":{\"sido\":\"서울특별시\",\"sigungu\":\"강남구\"}},"
+        + "\"ageRange\":{\"enabled\":true,\"value\":[20,39]},"
+        + "\"radius\":{\"enabled\":true,\"value\":{\"lat\":37.4979,\"lng\":127.0276,\"meters\":1500}}}";
+
+    private static final String GENDER_ONLY = "{"
+        + "\"gender\":{\"enabled\":true,\"value\":\"M\"},"
+        + "\"region\":{\"enabled\":false,\"value\":{\"sido\":\"\",\"sigungu\":\"\"}},"
+        + "\"ageRange\":{\"enabled\":false,\"value\":[20,60]},"
+        + "\"radius\":{\"enabled\":false,\"value\":{\"lat\":37.5665,\"lng\":126.978,\"meters\":1000}}}";
+
+    /**
+     * all: 네 가지 조건 모두 사용, genderOnly: 성별만 사용 (나머지는 비활성)
+     */
+    @Param({"all", "genderOnly"})
+    public String filter;
+
+    private Map<String, Object> filters;
+
+    @Setup
+    public void setUp() throws Exception {
+        filters = new ObjectMapper().readValue("all".equals(filter) ? ALL_FILTERS : GENDER_ONLY,
+            new TypeReference<Map<String, Object>>() {});
+    }
+
+    @Benchmark
+    public void legacyPreview(Blackhole blackhole) {
+        legacyParse(filters, blackhole);
+        blackhole.consume(legacyCountActiveFilters(filters));
+    }
+
+    @Benchmark
+    public void legacyCreate(Blackhole blackhole) {
+        legacyParse(filters, blackhole);
+        blackhole.consume(legacyCountActiveFilters(filters));
+        legacyParse(filters, blackhole);
+    }
+
+    @Benchmark
+    public CampaignFilter parse() {
+        return CampaignFilter.from(filters);
+    }
+
+    @Benchmark
+    public int parseAndCacheKey() {
+        return CampaignFilter.from(filters).hashCode();
+    }
+
+    @Benchmark
+    public String parseAndCanonicalKey() {
+        return CampaignFilter.from(filters).canonicalKey();
+    }
+
+    // 도입 전 CampaignService.previewCampaign / createCampaignTargets 의 필터 해석
+    @SuppressWarnings("unchecked")
+    private static void legacyParse(Map<String, Object> filters, Blackhole blackhole) {
+        String gender = null;
+        String sido = null;
+        String sigungu = null;
+        Integer ageFrom = null;
+        Integer ageTo = null;
+        Double centerLat = null;
+        Double centerLng = null;
+        Integer radiusMeters = null;
+
+        if (filters.get("gender") instanceof Map) {
+            Map<String, Object> genderFilter = (Map<String, Object>) filters.get("gender");
+            if (Boolean.TRUE.equals(genderFilter.get("enabled"))) {
+                gender = (String) genderFilter.get("value");
+                if (gender != null && gender.trim().isEmpty()) {
+                    gender = null;
+                }
+            }
+        }
+
+        if (filters.get("region") instanceof Map) {
+            Map<String, Object> regionFilter = (Map<String, Object>) filters.get("region");
+            if (Boolean.TRUE.equals(regionFilter.get("enabled")) && regionFilter.get("value") instanceof Map) {
+                Map<String, Object> regionValue = (Map<String, Object>) regionFilter.get("value");
+                sido = (String) regionValue.get("sido");
+                sigungu = (String) regionValue.get("sigungu");
+                if (sido != null && sido.trim().isEmpty()) {
+                    sido = null;
+                }
+                if (sigungu != null && sigungu.trim().isEmpty()) {
+                    sigungu = null;
+                }
+            }
+        }
+
+        if (filters.get("ageRange") instanceof Map) {
+            Map<String, Object> ageFilter = (Map<String, Object>) filters.get("ageRange");
+            if (Boolean.TRUE.equals(ageFilter.get("enabled")) && ageFilter.get("value") instanceof List) {
+                List<Integer> ageRange = (List<Integer>) ageFilter.get("value");
+                if (ageRange.size() == 2) {
+                    ageFrom = ageRange.get(0);
+                    ageTo = ageRange.get(1);
+                }
+            }
+        }
+
+        if (filters.get("radius") instanceof Map) {
+            Map<String, Object> radiusFilter = (Map<String, Object>) filters.get("radius");
+            if (Boolean.TRUE.equals(radiusFilter.get("enabled")) && radiusFilter.get("value") instanceof Map) {
+                Map<String, Object> radiusValue = (Map<String, Object>) radiusFilter.get("value");
+                if (radiusValue.get("lat") != null && radiusValue.get("lng") != null && radiusValue.get("meters") != null) {
+                    centerLat = ((Number) radiusValue.get("lat")).doubleValue();
+                    centerLng = ((Number) radiusValue.get("lng")).doubleValue();
+                    radiusMeters = ((Number) radiusValue.get("meters")).intValue();
+                }
+            }
+        }
+
+        blackhole.consume(gender);
+        blackhole.consume(sido);
+        blackhole.consume(sigungu);
+        blackhole.consume(ageFrom);
+        blackhole.consume(ageTo);
+        blackhole.consume(centerLat);
+        blackhole.consume(centerLng);
+        blackhole.consume(radiusMeters);
+    }
+
+    // 도입 전 CampaignService.countActiveFilters
+    @SuppressWarnings("unchecked")
+    private static int legacyCountActiveFilters(Map<String, Object> filters) {
+        int count = 0;
+        for (String name : new String[]{"gender", "ageRange", "region", "radius"}) {
+            if (filters.get(name) instanceof Map) {
+                Map<String, Object> filter = (Map<String, Object>) filters.get(name);
+                if (Boolean.TRUE.equals(filter.get("enabled"))) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,93 @@
+package com.kt.campaign.benchmark;
+
+import com.kt.campaign.service.MessageTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 수신자별 문자 본문 렌더링 처리량 - 수신자 100만 명 한 번 렌더링이 1회 측정 단위
+ *
+ * 수신자 이름/시군구/추적 링크는 미리 만들어 두고 렌더링 비용만 측정합니다.
+ * - compiledTemplate: MessageTemplate (캠페인당 한 번 컴파일, 재사용 버퍼에 조각 연결)
+ * - stringReplace: 비교용 - 수신자마다 원문에 String.replace 를 필드 수만큼 적용
+ *
+ * 템플릿 종류:
+ * - static: 치환 필드 없음 (모든 수신자에게 같은 본문)
+ * - personalized: {name}, {sigungu} 치환, 링크는 캠페인 단위 상수
+ * - tracked: {name}, {sigungu} 와 수신자별 추적 링크 {link}
+ *
+ * 실행: ./gradlew jmhJar 후 java -jar build/libs/*-jmh.jar MessageTemplateRenderBenchmark
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageTemplateRenderBenchmark {
+
+    private static final int RECIPIENTS = 1_000_000;
+    private static final String LINK = "https://kt.example.com/event/spring";
+    private static final String TRACK_BASE = "https://kt.example.com/c/";
+    private static final String[] SIGUNGU = {"강남구", "서초구", "송파구", "분당구", "수원시 영통구", "해운대구", "유성구"};
+
+    @Param({"static", "personalized", "tracked"})
+    public String template;
+
+    private String messageText;
+    private MessageTemplate compiled;
+    private String[] names;
+    private String[] sigungus;
+    private String[] links;
+
+    @Setup
+    public void setUp() {
+        messageText = "static".equals(template)
+            ? "[KT] 봄맞이 할인 이벤트! 가까운 매장에서 최대 30% 할인 혜택을 받아보세요. {link}"
+            : "[KT] {name}님, {sigungu} 매장 봄맞이 할인 이벤트! 최대 30% 할인 혜택을 받아보세요. {link}";
+        compiled = MessageTemplate.compile(messageText, LINK, "tracked".equals(template));
+
+        names = new String[RECIPIENTS];
+        sigungus = new String[RECIPIENTS];
+        links = new String[RECIPIENTS];
+        for (int i = 0; i < RECIPIENTS; i++) {
+            names[i] = "고객" + i;
+            sigungus[i] = SIGUNGU[i % SIGUNGU.length];
+            links[i] = TRACK_BASE + Long.toString(i * 2654435761L & 0xFFFFFFFFFFL, 36);
+        }
+    }
+
+    @Benchmark
+    public void compiledTemplate(Blackhole blackhole) {
+        boolean tracked = compiled.hasLinkField();
+        StringBuilder buffer = compiled.newBuffer();
+        for (int i = 0; i < RECIPIENTS; i++) {
+            blackhole.consume(compiled.render(buffer, names[i], sigungus[i], tracked ? links[i] : null));
+        }
+    }
+
+    @Benchmark
+    public void stringReplace(Blackhole blackhole) {
+        boolean tracked = "tracked".equals(template);
+        for (int i = 0; i < RECIPIENTS; i++) {
+            blackhole.consume(messageText
+                .replace("{name}", names[i])
+                .replace("{sigungu}", sigungus[i])
+                .replace("{link}", tracked ? links[i] : LINK));
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.kt.campaign.benchmark;
+
+import com.kt.campaign.entity.CampaignFilter;
+import com.kt.campaign.repository.CustomerQueryBuilder;
+import com.kt.campaign.repository.CustomerRepository;
+import com.kt.campaign.service.AudienceIndex;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.time.Year;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * 캠페인 미리보기 수신자 수 계산 비교 - 인메모리 비트맵 인덱스 vs SQL COUNT
+ *
+ * 같은 합성 고객 데이터(고객 id 로 속성이 정해짐)를 AudienceIndex 와 PostgreSQL customers 테이블에 적재하고
+ * 반경 조건이 없는 필터의 수신자 수를 계산합니다.
+ * - bitmapIndex: AudienceIndex.match 비트맵 교집합 (미리보기 기본 경로)
+ * - sqlQueryBuilder: CustomerQueryBuilder COUNT (인덱스 미적재 시 경로)
+ * - sqlCatchAll: 도입 전 (:p IS NULL OR ...) 형태의 COUNT
+ *
+ * PostgreSQL 은 -Dbench.jdbcUrl(-Dbench.user, -Dbench.password) 로 지정하며, 없으면 내장 PostgreSQL 을 띄웁니다.
+ * 내장 PostgreSQL 은 root 로 실행할 수 없습니다. 반경 조건은 PostGIS 가 필요하므로 측정하지 않습니다.
+ *
+ * 실행: ./gradlew jmhJar 후 java -jar build/libs/*-jmh.jar PreviewCountBenchmark
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PreviewCountBenchmark {
+
+    private static final String[] SIDO = {
+        "서울특별시", "부산광역시", "대구광역시", "인천광역시", "광주광역시", "대전광역시", "울산광역시", "세종특별자치시",
+        "경기도", "강원특별자치도", "충청북도", "충청남도", "전북특별자치도", "전라남도", "경상북도", "경상남도", "제주특별자치도"
+    };
+    private static final int SIGUNGU_PER_SIDO = 15;
+
+    private static final String CATCH_ALL_COUNT = "SELECT COUNT(*) FROM customers c WHERE "
+        + "(CAST(:gender AS VARCHAR) IS NULL OR c.gender = :gender) AND "
+        + "(CAST(:sido AS VARCHAR) IS NULL OR c.sido = :sido) AND "
+        + "(CAST(:sigungu AS VARCHAR) IS NULL OR c.sigungu = :sigungu) AND "
+        + "(CAST(:ageFrom AS INTEGER) IS NULL OR (:year - c.birth_year) >= :ageFrom) AND "
+        + "(CAST(:ageTo AS INTEGER) IS NULL OR (:year - c.birth_year) <= :ageTo)";
+
+    @Param({"1000000", "10000000"})
+    public int customers;
+
+    /**
+     * gender: 성별만, genderAge: 성별 + 나이, regionAge: 시도 + 시군구 + 나이
+     */
+    @Param({"gender", "genderAge", "regionAge"})
+    public String filter;
+
+    private EmbeddedPostgres embeddedPostgres;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private AudienceIndex audienceIndex;
+    private CampaignFilter campaignFilter;
+    private CustomerQueryBuilder queryBuilder;
+    private MapSqlParameterSource catchAllParams;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        campaignFilter = switch (filter) {
+            case "gender" -> CampaignFilter.of("F", null, null, null, null);
+            case "genderAge" -> CampaignFilter.of("F", null, null, 30, 39);
+            case "regionAge" -> CampaignFilter.of(null, SIDO[8], SIDO[8] + " 3구", 20, 49);
+            default -> throw new IllegalArgumentException("unknown filter: " + filter);
+        };
+
+        audienceIndex = new AudienceIndex(syntheticRepository(customers));
+        audienceIndex.load();
+
+        DataSource dataSource = dataSource();
+        loadCustomers(new JdbcTemplate(dataSource), customers);
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        queryBuilder = CustomerQueryBuilder.of(campaignFilter);
+        catchAllParams = new MapSqlParameterSource()
+            .addValue("gender", campaignFilter.gender())
+            .addValue("sido", campaignFilter.sido())
+            .addValue("sigungu", campaignFilter.sigungu())
+            .addValue("ageFrom", campaignFilter.ageFrom())
+            .addValue("ageTo", campaignFilter.ageTo())
+            .addValue("year", Year.now().getValue());
+
+        long bitmapCount = bitmapIndex();
+        long sqlCount = sqlQueryBuilder();
+        if (bitmapCount != sqlCount || sqlCount != sqlCatchAll()) {
+            throw new IllegalStateException("count mismatch: bitmap=" + bitmapCount + ", sql=" + sqlCount);
+        }
+        System.out.println("Preview benchmark ready: " + customers + " customers, filter " + filter
+            + " matches " + bitmapCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (embeddedPostgres != null) {
+            embeddedPostgres.close();
+        }
+    }
+
+    @Benchmark
+    public long bitmapIndex() {
+        return audienceIndex.match(campaignFilter).getCardinality();
+    }
+
+    @Benchmark
+    public long sqlQueryBuilder() {
+        Long count = jdbcTemplate.queryForObject(queryBuilder.count(), queryBuilder.params(), Long.class);
+        return count != null ? count : 0;
+    }
+
+    @Benchmark
+    public long sqlCatchAll() {
+        Long count = jdbcTemplate.queryForObject(CATCH_ALL_COUNT, catchAllParams, Long.class);
+        return count != null ? count : 0;
+    }
+
+    // 고객 id 로 속성이 정해지는 합성 데이터 - loadCustomers 의 SQL 식과 같은 규칙
+    private static String gender(long id) {
+        return id % 2 == 0 ? "M" : "F";
+    }
+
+    private static int birthYear(long id) {
+        return 1950 + (int) (id * 7919 % 56);
+    }
+
+    private static int sidoIndex(long id) {
+        return (int) (id * 31 % SIDO.length);
+    }
+
+    private static String sigungu(long id) {
+        return SIDO[sidoIndex(id)] + " " + (id * 131 % SIGUNGU_PER_SIDO) + "구";
+    }
+
+    // AudienceIndex 적재에 쓰는 streamAudienceAttributes 만 구현한 CustomerRepository
+    private static CustomerRepository syntheticRepository(int customers) {
+        return (CustomerRepository) Proxy.newProxyInstance(
+            CustomerRepository.class.getClassLoader(),
+            new Class<?>[]{CustomerRepository.class},
+            (proxy, method, args) -> {
+                if (!"streamAudienceAttributes".equals(method.getName())) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                Stream<Object[]> rows = LongStream.rangeClosed(1, customers).mapToObj(id -> new Object[]{
+                    id, gender(id), SIDO[sidoIndex(id)], sigungu(id), birthYear(id), null, null
+                });
+                return rows;
+            });
+    }
+
+    private DataSource dataSource() throws Exception {
+        String jdbcUrl = System.getProperty("bench.jdbcUrl");
+        if (jdbcUrl != null) {
+            return new DriverManagerDataSource(jdbcUrl,
+                System.getProperty("bench.user", "postgres"), System.getProperty("bench.password", ""));
+        }
+        embeddedPostgres = EmbeddedPostgres.builder()
+            .setServerConfig("shared_buffers", "512MB")
+            .setServerConfig("max_wal_size", "4GB")
+            .start();
+        return embeddedPostgres.getPostgresDatabase();
+    }
+
+    // V1__init.sql 의 customers 속성 컬럼과 인덱스만 생성 (geom 제외)
+    private static void loadCustomers(JdbcTemplate jdbc, int customers) {
+        long started = System.currentTimeMillis();
+        jdbc.execute("DROP TABLE IF EXISTS customers");
+        jdbc.execute("CREATE TABLE customers ("
+            + "id BIGINT PRIMARY KEY, gender VARCHAR(16), birth_year INT, sido VARCHAR(50), sigungu VARCHAR(80))");
+        StringBuilder sidoArray = new StringBuilder("ARRAY[");
+        for (int i = 0; i < SIDO.length; i++) {
+            sidoArray.append(i > 0 ? "," : "").append('\'').append(SIDO[i]).append('\'');
+        }
+        sidoArray.append("]");
+        jdbc.update("INSERT INTO customers (id, gender, birth_year, sido, sigungu) "
+            + "SELECT id, CASE WHEN id % 2 = 0 THEN 'M' ELSE 'F' END, 1950 + (id * 7919 % 56)::INT, "
+            + "(" + sidoArray + ")[(id * 31 % " + SIDO.length + ")::INT + 1], "
+            + "(" + sidoArray + ")[(id * 31 % " + SIDO.length + ")::INT + 1] || ' ' || (id * 131 % "
+            + SIGUNGU_PER_SIDO + ") || '구' "
+            + "FROM generate_series(1::BIGINT, " + customers + ") AS id");
+        for (String index : List.of(
+                "CREATE INDEX idx_customers_gender ON customers(gender)",
+                "CREATE INDEX idx_customers_birth_year ON customers(birth_year)",
+                "CREATE INDEX idx_customers_region ON customers(sido, sigungu)",
+                "CREATE INDEX idx_customers_sigungu ON customers(sigungu)",
+                "CREATE INDEX idx_customers_gender_birth ON customers(gender, birth_year)")) {
+            jdbc.execute(index);
+        }
+        jdbc.execute("VACUUM ANALYZE customers");
+        System.out.println("Loaded " + customers + " customers into PostgreSQL in "
+            + (System.currentTimeMillis() - started) + "ms");
+    }
+}
@@ -0,0 +1,54 @@
+package com.kt.campaign.config;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * MVC 비동기 응답(StreamingResponseBody, 예: /campaigns/customers/stream) 실행 설정
+ *
+ * 스트리밍 응답 본문은 요청 스레드가 아닌 이 실행기에서 씁니다.
+ * 기본 실행기(applicationTaskExecutor)는 대기열 제한이 없으므로 동시 내보내기 수를 poolSize 로 묶고,
+ * 대기열까지 가득 차면 새 요청은 바로 거절합니다.
+ * 응답이 requestTimeoutMs 안에 끝나지 않으면 서블릿 컨테이너 기본값(30초) 대신 이 값으로 끊습니다.
+ *
+ * 실행기는 다른 @Async 작업이 가져다 쓰지 않도록 빈으로 등록하지 않고 여기서만 사용합니다.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.async-mvc")
+@Getter
+@Setter
+public class AsyncMvcConfig implements WebMvcConfigurer {
+    // 비동기 응답 제한 시간 (대량 고객 스트리밍이 끝날 수 있을 만큼)
+    private long requestTimeoutMs = 600000;
+    // 동시에 응답을 쓰는 스레드 수
+    private int poolSize = 4;
+    // 스레드가 모두 사용 중일 때 기다릴 수 있는 요청 수 (넘치면 거절)
+    private int queueCapacity = 16;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(1, poolSize));
+        executor.setMaxPoolSize(Math.max(1, poolSize));
+        executor.setQueueCapacity(Math.max(0, queueCapacity));
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.initialize();
+        configurer.setTaskExecutor(executor);
+        configurer.setDefaultTimeout(requestTimeoutMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.kt.campaign.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.campaign-scheduler")
+@Getter
+@Setter
+public class CampaignSchedulerConfig {
+    // 타이밍 휠 한 칸의 시간 (예약 발송 정밀도)
+    private long tickMs = 1000;
+    // 타이밍 휠 칸 수 (2의 거듭제곱으로 올림)
+    private int wheelSize = 512;
+    // 이 시간 안에 실행할 예약만 휠에 올림 (이후 예약은 다음 재적재 때 등록)
+    private long lookaheadSeconds = 600;
+    // DB 의 SCHEDULED 캠페인 재적재 주기 (다른 노드에서 등록된 예약, 실패한 실행 포함)
+    private long rehydrateIntervalMs = 60000;
+}
@@ -0,0 +1,17 @@
+package com.kt.campaign.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.campaign-stats")
+@Getter
+@Setter
+public class CampaignStatsConfig {
+    // 메모리 카운터를 DB 집계와 맞추는 주기 (다른 노드 반영분, 누락분 보정)
+    private long reconcileIntervalMs = 60000;
+    // 이 시간 동안 조회되지 않은 캠페인 카운터는 제거 (다음 조회 때 DB 에서 다시 적재)
+    private long idleMinutes = 60;
+}
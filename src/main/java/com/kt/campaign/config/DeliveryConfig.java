@@ -0,0 +1,15 @@
+package com.kt.campaign.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.delivery")
+@Getter
+@Setter
+public class DeliveryConfig {
+    // 한 트랜잭션에서 상태를 전이하는 대상자 id 범위 크기
+    private int chunkSize = 5000;
+}
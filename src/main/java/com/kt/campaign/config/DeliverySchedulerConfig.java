@@ -0,0 +1,25 @@
+package com.kt.campaign.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.delivery-scheduler")
+@Getter
+@Setter
+public class DeliverySchedulerConfig {
+    // 게이트웨이(통신사) 제출 한도 - 노드당 초당 메시지 수와 순간 허용량
+    private double gatewayTps = 1000;
+    private int gatewayBurst = 1000;
+    // 발신 사용자(AppUser)별 제출 한도
+    private double tenantTps = 300;
+    private int tenantBurst = 500;
+    // 캠페인 간 공정 분배 가중치 (사용자 id → 가중치, 없으면 defaultWeight)
+    private double defaultWeight = 1.0;
+    private Map<Long, Double> tenantWeights = new HashMap<>();
+}
@@ -0,0 +1,21 @@
+package com.kt.campaign.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.frequency-cap")
+@Getter
+@Setter
+public class FrequencyCapConfig {
+    // 캠페인 간 고객별 수신 횟수 제한 사용 여부
+    private boolean enabled = true;
+    // windowHours 동안 고객 한 명이 받을 수 있는 최대 메시지 수
+    private int maxMessages = 3;
+    // 수신 횟수를 세는 구간 (시간 단위 버킷, 최근 windowHours 시간)
+    private int windowHours = 24;
+    // DB 발송 이력으로 카운터를 다시 만드는 주기 (다른 노드에서 생성된 대상자 반영)
+    private long reloadIntervalMs = 300000;
+}
@@ -0,0 +1,33 @@
+package com.kt.campaign.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.gateway")
+@Getter
+@Setter
+public class GatewayConfig {
+    // 사용할 게이트웨이 구현 (stub: 로컬 인프로세스 스텁)
+    private String type = "stub";
+    // 게이트웨이 호출 한 번에 보내는 메시지 수
+    private int batchSize = 500;
+    // 응답을 기다리지 않고 동시에 보내 둘 수 있는 배치 수 (워커 스레드당)
+    private int maxInFlight = 4;
+    // 배치 응답 대기 제한 시간
+    private long timeoutMs = 10000;
+    private Stub stub = new Stub();
+
+    @Getter
+    @Setter
+    public static class Stub {
+        // 배치당 응답 지연 (기본 + 0~jitter 무작위)
+        private long latencyMs = 20;
+        private long latencyJitterMs = 10;
+        // 메시지별 실패 확률 (0.0 ~ 1.0)
+        private double failureRate = 0.0;
+        private int threads = 2;
+    }
+}
@@ -0,0 +1,25 @@
+package com.kt.campaign.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.live-stats")
+@Getter
+@Setter
+public class LiveStatsConfig {
+    // 캠페인별 통계 변경분을 모아 보내는 주기 (캠페인당 이 주기에 최대 한 프레임)
+    private long pushIntervalMs = 300;
+    // 구독자에게 프레임을 쓰는 스레드 수
+    private int senderThreads = 8;
+    // 한 연결에 이 시간 이상 쓰기가 막히면 연결 종료
+    private int sendTimeLimitMs = 5000;
+    // 쓰기가 막힌 연결을 찾는 주기 (새 프레임과 무관하게 확인)
+    private long stallCheckIntervalMs = 1000;
+    // 연결별 미전송 버퍼 크기 (넘치면 가장 오래된 프레임부터 버림)
+    private int bufferSizeLimitBytes = 65536;
+    // 한 연결에서 구독할 수 있는 최대 캠페인 수
+    private int maxCampaignsPerConnection = 50;
+}
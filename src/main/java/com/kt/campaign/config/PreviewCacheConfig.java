@@ -0,0 +1,15 @@
+package com.kt.campaign.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.preview-cache")
+@Getter
+@Setter
+public class PreviewCacheConfig {
+    private long maximumSize = 10000;
+    private long ttlSeconds = 300;
+}
@@ -0,0 +1,25 @@
+package com.kt.campaign.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.send-queue")
+@Getter
+@Setter
+public class SendQueueConfig {
+    // 노드당 발송 워커 스레드 수
+    private int workers = 4;
+    // 대기 작업이 없을 때 다음 조회까지 대기 시간
+    private long pollIntervalMs = 500;
+    // 실패 시 재시도 포함 최대 시도 횟수
+    private int maxAttempts = 3;
+    // 이 시간 동안 생존 신호가 없는 RUNNING 작업은 중단된 것으로 보고 회수
+    private long staleTimeoutSeconds = 120;
+    // 처리 중인 작업의 생존 신호 갱신 주기 (staleTimeoutSeconds 보다 충분히 짧게)
+    private long heartbeatIntervalMs = 30000;
+    // 작업 회수 및 멈춘 SENDING 캠페인 재개 주기
+    private long recoveryIntervalMs = 60000;
+}
@@ -0,0 +1,34 @@
+package com.kt.campaign.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.tracking")
+@Getter
+@Setter
+public class TrackingConfig {
+    // 추적 토큰 서명 키 (HMAC-SHA256)
+    private String secret;
+    // 문자 본문에 넣는 추적 링크 기본 주소 (비어 있으면 원본 링크를 그대로 발송)
+    private String baseUrl;
+    // 링크가 없거나 토큰이 올바르지 않을 때 이동할 주소
+    private String defaultRedirectUrl = "https://shop.kt.com/";
+    // 캠페인 id → 링크 캐시 크기와 유지 시간
+    private long linkCacheSize = 10000;
+    private long linkCacheTtlSeconds = 600;
+    // 읽음/클릭 이벤트 버퍼 크기 (2의 거듭제곱으로 올림, 가득 차면 요청 스레드에서 바로 반영)
+    private int bufferCapacity = 65536;
+    // 버퍼 반영 주기와 한 번에 반영하는 최대 이벤트 수 (배치가 차면 주기 전에 반영)
+    private long flushIntervalMs = 200;
+    private int flushBatchSize = 1000;
+    // 원본 이벤트 로그 사용 여부, 저장 디렉터리, 세그먼트 파일 크기(1~2047MB), fsync 주기
+    private boolean logEnabled = true;
+    private String logDir = "./data/tracking-log";
+    private int logSegmentSizeMb = 64;
+    private long logFsyncIntervalMs = 1000;
+    // 보존할 최대 세그먼트 수 (2 이상, 넘으면 가장 오래된 세그먼트부터 삭제 - 기본 64MB × 32 = 2GB)
+    private int logMaxSegments = 32;
+}
@@ -0,0 +1,27 @@
+package com.kt.campaign.config;
+
+import com.kt.campaign.controller.CampaignStatsSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final CampaignStatsSocketHandler campaignStatsSocketHandler;
+    private final CorsConfig corsConfig;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        // 캠페인 통계 실시간 구독 (/campaigns/** 인증 규칙 적용, 핸드셰이크에서 캠페인 권한 확인)
+        registry.addHandler(campaignStatsSocketHandler, "/campaigns/live-stats")
+            .addInterceptors(campaignStatsSocketHandler)
+            .setAllowedOrigins(corsConfig.getAllowedOrigins() != null
+                ? corsConfig.getAllowedOrigins().toArray(new String[0])
+                : new String[0]);
+    }
+}
@@ -1,11 +1,26 @@
 package com.kt.campaign.controller;
 
+import com.kt.campaign.entity.CampaignFilter;
 import com.kt.campaign.entity.Customer;
 import com.kt.campaign.repository.CustomerRepository;
+import com.kt.campaign.service.CampaignHourlyRollup;
+import com.kt.campaign.service.CampaignScheduler;
+import com.kt.campaign.service.CampaignStatsCounter;
+import com.kt.campaign.service.CampaignStatsPublisher;
+import com.kt.campaign.service.CampaignSendWorker;
+import com.kt.campaign.service.ContactFrequencyCounter;
+import com.kt.campaign.service.DemographicCube;
+import com.kt.campaign.service.TrackingEventLog;
+import com.kt.campaign.service.TrackingEventRecorder;
+import com.kt.campaign.service.CustomerChangedEvent;
+import com.kt.campaign.service.CustomerPageService;
+import com.kt.campaign.service.DeliveryScheduler;
+import com.kt.campaign.service.PreviewCache;
 import lombok.RequiredArgsConstructor;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -23,10 +38,11 @@ import java.util.HashMap;
  * Spring Security에서 ADMIN 역할을 가진 사용자만 접근이 허용됩니다.
  * 
  * 주요 기능:
- * - 고객 목록 조회 (ID 순 정렬, 페이징)
+ * - 고객 목록 조회 (ID 순 정렬, 페이징 또는 키셋 커서)
  * - 고객 정보 수정
  * - 고객 삭제
  * - 필터링 기능 (성별, 지역, 나이)
+ * - 미리보기 캐시 지표 조회 (적중, 미스, 제거)
  * 
  * 특별 기능:
  * - ID 순서대로 정렬하여 관리 편의성 향상
@@ -41,8 +57,27 @@ import java.util.HashMap;
 public class AdminController {
     
     private final CustomerRepository customerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PreviewCache previewCache;
+    private final CustomerPageService customerPageService;
+    private final CampaignSendWorker campaignSendWorker;
+    private final DeliveryScheduler deliveryScheduler;
+    private final CampaignScheduler campaignScheduler;
+    private final ContactFrequencyCounter contactFrequencyCounter;
+    private final TrackingEventRecorder trackingEventRecorder;
+    private final TrackingEventLog trackingEventLog;
+    private final CampaignStatsCounter campaignStatsCounter;
+    private final CampaignHourlyRollup campaignHourlyRollup;
+    private final CampaignStatsPublisher campaignStatsPublisher;
+    private final DemographicCube demographicCube;
     private final GeometryFactory geometryFactory = new GeometryFactory();
     
+    /**
+     * 고객 목록 조회
+     * after 가 주어지면 키셋(커서) 페이지네이션: id > after 다음 size 건, COUNT 없음
+     * total = none(기본) | estimate(인덱스 기반 추정) | exact(COUNT 쿼리), 그 외 값은 400
+     * after 가 없으면 기존 page/size OFFSET 페이지네이션
+     */
     @GetMapping("/customers")
     public ResponseEntity<?> getCustomers(@RequestParam(required = false) String gender,
                                         @RequestParam(required = false) String sido,
@@ -50,32 +85,22 @@ public class AdminController {
                                         @RequestParam(required = false) Integer ageFrom,
                                         @RequestParam(required = false) Integer ageTo,
                                         @RequestParam(defaultValue = "0") int page,
-                                        @RequestParam(defaultValue = "20") int size) {
+                                        @RequestParam(defaultValue = "20") int size,
+                                        @RequestParam(required = false) Long after,
+                                        @RequestParam(defaultValue = "none") String total) {
         try {
+            CustomerPageService.checkTotal(total);
+            CampaignFilter filter = CampaignFilter.of(gender, sido, sigungu, ageFrom, ageTo);
+            if (after != null) {
+                return ResponseEntity.ok(customerPageService.keysetPage(filter, after, size, total, this::toCustomerDto));
+            }
+            
             Pageable pageable = PageRequest.of(page, size);
-            Page<Customer> customers = customerRepository.findByFilters(
-                gender, sido, sigungu, ageFrom, ageTo, pageable
-            );
+            Page<Customer> customers = customerRepository.findByFilter(filter, pageable);
             
             // DTO로 변환하여 JSON 직렬화 문제 방지
             List<Map<String, Object>> customerDtos = customers.getContent().stream()
-                .map(customer -> {
-                    Map<String, Object> dto = new HashMap<>();
-                    dto.put("id", customer.getId());
-                    dto.put("name", customer.getName());
-                    dto.put("gender", customer.getGender());
-                    dto.put("birthYear", customer.getBirthYear());
-                    dto.put("phone", customer.getPhone());
-                    dto.put("roadAddress", customer.getRoadAddress());
-                    dto.put("detailAddress", customer.getDetailAddress());
-                    dto.put("postalCode", customer.getPostalCode());
-                    dto.put("sido", customer.getSido());
-                    dto.put("sigungu", customer.getSigungu());
-                    dto.put("lat", customer.getLat());
-                    dto.put("lng", customer.getLng());
-                    dto.put("createdAt", customer.getCreatedAt());
-                    return dto;
-                })
+                .map(this::toCustomerDto)
                 .collect(java.util.stream.Collectors.toList());
 
             Map<String, Object> response = new HashMap<>();
@@ -90,6 +115,24 @@ public class AdminController {
         }
     }
     
+    private Map<String, Object> toCustomerDto(Customer customer) {
+        Map<String, Object> dto = new HashMap<>();
+        dto.put("id", customer.getId());
+        dto.put("name", customer.getName());
+        dto.put("gender", customer.getGender());
+        dto.put("birthYear", customer.getBirthYear());
+        dto.put("phone", customer.getPhone());
+        dto.put("roadAddress", customer.getRoadAddress());
+        dto.put("detailAddress", customer.getDetailAddress());
+        dto.put("postalCode", customer.getPostalCode());
+        dto.put("sido", customer.getSido());
+        dto.put("sigungu", customer.getSigungu());
+        dto.put("lat", customer.getLat());
+        dto.put("lng", customer.getLng());
+        dto.put("createdAt", customer.getCreatedAt());
+        return dto;
+    }
+    
     @PostMapping("/customers")
     public ResponseEntity<?> createCustomer(@RequestBody Map<String, Object> request) {
         try {
@@ -115,6 +158,7 @@ public class AdminController {
             customer.setGeom(point);
             
             Customer saved = customerRepository.save(customer);
+            eventPublisher.publishEvent(CustomerChangedEvent.created(saved));
             
             return ResponseEntity.ok(Map.of(
                 "message", "고객이 생성되었습니다.",
@@ -131,6 +175,7 @@ public class AdminController {
         try {
             Customer customer = customerRepository.findById(id)
                     .orElseThrow(() -> new IllegalArgumentException("고객을 찾을 수 없습니다."));
+            CustomerChangedEvent.Snapshot before = CustomerChangedEvent.Snapshot.of(customer);
             
             customer.setName((String) request.get("name"));
             customer.setGender((String) request.get("gender"));
@@ -154,6 +199,7 @@ public class AdminController {
             }
             
             Customer updated = customerRepository.save(customer);
+            eventPublisher.publishEvent(CustomerChangedEvent.updated(before, updated));
             
             return ResponseEntity.ok(Map.of(
                 "message", "고객 정보가 업데이트되었습니다.",
@@ -167,10 +213,113 @@ public class AdminController {
     @DeleteMapping("/customers/{id}")
     public ResponseEntity<?> deleteCustomer(@PathVariable Long id) {
         try {
-            customerRepository.deleteById(id);
+            Customer customer = customerRepository.findById(id).orElse(null);
+            if (customer != null) {
+                customerRepository.delete(customer);
+                eventPublisher.publishEvent(CustomerChangedEvent.deleted(id, CustomerChangedEvent.Snapshot.of(customer)));
+            }
             return ResponseEntity.ok(Map.of("message", "고객이 삭제되었습니다."));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
+    
+    @GetMapping("/preview-cache/stats")
+    public ResponseEntity<?> getPreviewCacheStats() {
+        return ResponseEntity.ok(previewCache.stats());
+    }
+    
+    @GetMapping("/send-queue/stats")
+    public ResponseEntity<?> getSendQueueStats() {
+        return ResponseEntity.ok(campaignSendWorker.stats());
+    }
+    
+    /**
+     * 게이트웨이/사용자별 발송 한도와 현재 처리량, 대기열 깊이
+     */
+    @GetMapping("/delivery-scheduler/stats")
+    public ResponseEntity<?> getDeliverySchedulerStats() {
+        return ResponseEntity.ok(deliveryScheduler.stats());
+    }
+    
+    /**
+     * 이 노드 타이밍 휠에 올라간 예약 발송 수
+     */
+    @GetMapping("/campaign-scheduler/stats")
+    public ResponseEntity<?> getCampaignSchedulerStats() {
+        return ResponseEntity.ok(campaignScheduler.stats());
+    }
+    
+    @GetMapping("/frequency-cap/stats")
+    public ResponseEntity<?> getFrequencyCapStats() {
+        return ResponseEntity.ok(contactFrequencyCounter.stats());
+    }
+    
+    /**
+     * 읽음/클릭 이벤트 버퍼 적재량과 반영 지연(lagMs)
+     */
+    @GetMapping("/tracking-buffer/stats")
+    public ResponseEntity<?> getTrackingBufferStats() {
+        return ResponseEntity.ok(trackingEventRecorder.stats());
+    }
+    
+    /**
+     * 캠페인 실시간 카운터 적재 수와 최근 보정량
+     */
+    @GetMapping("/campaign-stats/stats")
+    public ResponseEntity<?> getCampaignStatsCounterStats() {
+        return ResponseEntity.ok(campaignStatsCounter.stats());
+    }
+    
+    /**
+     * 실시간 통계 구독 연결 수와 전송 프레임 수
+     */
+    @GetMapping("/live-stats/stats")
+    public ResponseEntity<?> getLiveStatsStats() {
+        return ResponseEntity.ok(campaignStatsPublisher.stats());
+    }
+    
+    /**
+     * 원본 대상자 데이터로 시간별 집계 재계산 (campaignId 생략 시 전체)
+     */
+    @PostMapping("/campaign-hourly-stats/rebuild")
+    public ResponseEntity<?> rebuildCampaignHourlyStats(@RequestParam(required = false) Long campaignId) {
+        try {
+            return ResponseEntity.ok(campaignHourlyRollup.rebuild(campaignId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * 원본 대상자 데이터로 연령대 × 성별 분포 재계산
+     */
+    @PostMapping("/demographics/rebuild")
+    public ResponseEntity<?> rebuildDemographics() {
+        try {
+            return ResponseEntity.ok(demographicCube.rebuild());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * 원본 이벤트 로그 세그먼트/기록량/fsync 상태
+     */
+    @GetMapping("/tracking-log/stats")
+    public ResponseEntity<?> getTrackingLogStats() {
+        return ResponseEntity.ok(trackingEventLog.stats());
+    }
+    
+    /**
+     * 원본 이벤트 로그를 처음부터 다시 읽어 read_at/click_at 재구성
+     */
+    @PostMapping("/tracking-log/replay")
+    public ResponseEntity<?> replayTrackingLog() {
+        try {
+            return ResponseEntity.ok(trackingEventRecorder.replay());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
 }
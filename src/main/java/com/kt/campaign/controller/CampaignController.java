@@ -2,18 +2,28 @@ package com.kt.campaign.controller;
 
 import com.kt.campaign.entity.AppUser;
 import com.kt.campaign.entity.Campaign;
+import com.kt.campaign.entity.CampaignFilter;
 import com.kt.campaign.entity.Customer;
 import com.kt.campaign.repository.AppUserRepository;
+import com.kt.campaign.repository.CustomerExportRepository;
 import com.kt.campaign.repository.CustomerRepository;
 import com.kt.campaign.service.CampaignServiceInterface;
+import com.kt.campaign.service.CustomerPageService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,10 +36,11 @@ import java.util.stream.Collectors;
  * 인증된 사용자만 접근할 수 있으며, JWT 토큰을 통해 사용자를 식별합니다.
  * 
  * 주요 기능:
- * - 캠페인 미리보기 (고객 수, 예상 비용 계산)
- * - 캠페인 생성 및 발송
+ * - 캠페인 미리보기 (고객 수, 예상 비용 계산, approximate=true 시 근사치와 신뢰구간)
+ * - 캠페인 생성 및 발송 (즉시 발송, 예약 발송)
  * - 캠페인 목록 조회 및 상세 통계
  * - 대시보드용 통합 통계 제공
+ * - 타겟팅 지도용 고객 좌표 NDJSON 스트리밍
  * 
  * @author KT 위치 문자 서비스 팀
  */
@@ -41,6 +52,9 @@ public class CampaignController {
     private final CampaignServiceInterface campaignService;
     private final CustomerRepository customerRepository;
     private final AppUserRepository appUserRepository;
+    private final CustomerPageService customerPageService;
+    private final CustomerExportRepository customerExportRepository;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public ResponseEntity<?> getUserCampaigns(@AuthenticationPrincipal String email) {
@@ -117,8 +131,38 @@ public class CampaignController {
             AppUser user = appUserRepository.findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
             
+            // 포인트 차감과 발송 작업 등록까지만 처리하고 바로 응답 (발송은 워커가 진행)
             campaignService.sendCampaign(id, user);
-            return ResponseEntity.ok(Map.of("message", "캠페인이 발송되었습니다."));
+            return ResponseEntity.ok(Map.of(
+                "message", "캠페인 발송이 시작되었습니다.",
+                "status", "SENDING"
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/{id}/schedule")
+    public ResponseEntity<?> scheduleCampaign(@AuthenticationPrincipal String email,
+                                            @PathVariable Long id,
+                                            @RequestBody Map<String, Object> request) {
+        try {
+            AppUser user = appUserRepository.findByEmail(email)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+            
+            Object scheduledAtValue = request.get("scheduledAt");
+            if (scheduledAtValue == null) {
+                throw new IllegalArgumentException("예약 시각이 필요합니다.");
+            }
+            // ISO-8601 로컬 시각 (예: 2025-01-31T09:00:00)
+            LocalDateTime scheduledAt = LocalDateTime.parse(scheduledAtValue.toString());
+            
+            campaignService.scheduleCampaign(id, user, scheduledAt);
+            return ResponseEntity.ok(Map.of(
+                "message", "캠페인 발송이 예약되었습니다.",
+                "status", "SCHEDULED",
+                "scheduledAt", scheduledAt.toString()
+            ));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -140,11 +184,12 @@ public class CampaignController {
     
     @PostMapping("/preview")
     public ResponseEntity<?> previewCampaign(@AuthenticationPrincipal String email,
+                                           @RequestParam(defaultValue = "false") boolean approximate,
                                            @RequestBody Map<String, Object> request) {
         try {
             @SuppressWarnings("unchecked")
             Map<String, Object> filters = (Map<String, Object>) request.get("filters");
-            Map<String, Object> preview = campaignService.previewCampaign(filters);
+            Map<String, Object> preview = campaignService.previewCampaign(filters, approximate);
             return ResponseEntity.ok(preview);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -153,6 +198,7 @@ public class CampaignController {
     
     /**
      * 캠페인 생성을 위한 고객 데이터 조회 (로그인된 사용자 모두 접근 가능)
+     * after 가 주어지면 키셋(커서) 페이지네이션, total = none(기본) | estimate | exact (그 외 값은 400)
      */
     @GetMapping("/customers")
     public ResponseEntity<?> getCustomersForCampaign(@RequestParam(required = false) String gender,
@@ -161,28 +207,22 @@ public class CampaignController {
                                                    @RequestParam(required = false) Integer ageFrom,
                                                    @RequestParam(required = false) Integer ageTo,
                                                    @RequestParam(defaultValue = "0") int page,
-                                                   @RequestParam(defaultValue = "1000") int size) {
+                                                   @RequestParam(defaultValue = "1000") int size,
+                                                   @RequestParam(required = false) Long after,
+                                                   @RequestParam(defaultValue = "none") String total) {
         try {
+            CustomerPageService.checkTotal(total);
+            CampaignFilter filter = CampaignFilter.of(gender, sido, sigungu, ageFrom, ageTo);
+            if (after != null) {
+                return ResponseEntity.ok(customerPageService.keysetPage(filter, after, size, total, this::toCustomerDto));
+            }
+            
             Pageable pageable = PageRequest.of(page, size);
-            Page<Customer> customers = customerRepository.findByFilters(
-                gender, sido, sigungu, ageFrom, ageTo, pageable
-            );
+            Page<Customer> customers = customerRepository.findByFilter(filter, pageable);
             
             // DTO로 변환하여 JSON 직렬화 문제 방지 및 개인정보 보호
             List<Map<String, Object>> customerDtos = customers.getContent().stream()
-                .map(customer -> {
-                    Map<String, Object> dto = new HashMap<>();
-                    dto.put("id", customer.getId());
-                    // 개인정보는 마스킹하거나 제외
-                    dto.put("gender", customer.getGender());
-                    dto.put("birthYear", customer.getBirthYear());
-                    dto.put("sido", customer.getSido());
-                    dto.put("sigungu", customer.getSigungu());
-                    dto.put("lat", customer.getLat());
-                    dto.put("lng", customer.getLng());
-                    dto.put("createdAt", customer.getCreatedAt());
-                    return dto;
-                })
+                .map(this::toCustomerDto)
                 .collect(java.util.stream.Collectors.toList());
 
             return ResponseEntity.ok(Map.of(
@@ -195,4 +235,61 @@ public class CampaignController {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
+    
+    /**
+     * 조건에 맞는 고객 좌표를 NDJSON(한 줄에 한 고객)으로 스트리밍
+     * 전진 전용 JDBC 커서에서 읽은 행을 바로 응답에 쓰므로 고객 수와 무관하게 메모리 사용량이 일정합니다.
+     */
+    @GetMapping(value = "/customers/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamCustomersForCampaign(@RequestParam(required = false) String gender,
+                                                                          @RequestParam(required = false) String sido,
+                                                                          @RequestParam(required = false) String sigungu,
+                                                                          @RequestParam(required = false) Integer ageFrom,
+                                                                          @RequestParam(required = false) Integer ageTo) {
+        CampaignFilter filter = CampaignFilter.of(gender, sido, sigungu, ageFrom, ageTo);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                // 루트 값 사이 기본 구분자(공백) 없이 줄마다 JSON 객체 하나만
+                generator.setRootValueSeparator(null);
+                customerExportRepository.streamFiltered(filter, rs -> {
+                    try {
+                        generator.writeStartObject();
+                        generator.writeNumberField("id", rs.getLong(1));
+                        generator.writeStringField("gender", rs.getString(2));
+                        int birthYear = rs.getInt(3);
+                        if (rs.wasNull()) {
+                            generator.writeNullField("birthYear");
+                        } else {
+                            generator.writeNumberField("birthYear", birthYear);
+                        }
+                        generator.writeStringField("sido", rs.getString(4));
+                        generator.writeStringField("sigungu", rs.getString(5));
+                        generator.writeObjectField("lat", rs.getObject(6));
+                        generator.writeObjectField("lng", rs.getObject(7));
+                        generator.writeEndObject();
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .body(body);
+    }
+    
+    private Map<String, Object> toCustomerDto(Customer customer) {
+        Map<String, Object> dto = new HashMap<>();
+        dto.put("id", customer.getId());
+        // 개인정보는 마스킹하거나 제외
+        dto.put("gender", customer.getGender());
+        dto.put("birthYear", customer.getBirthYear());
+        dto.put("sido", customer.getSido());
+        dto.put("sigungu", customer.getSigungu());
+        dto.put("lat", customer.getLat());
+        dto.put("lng", customer.getLng());
+        dto.put("createdAt", customer.getCreatedAt());
+        return dto;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.kt.campaign.controller;
+
+import com.kt.campaign.config.LiveStatsConfig;
+import com.kt.campaign.entity.AppUser;
+import com.kt.campaign.repository.AppUserRepository;
+import com.kt.campaign.repository.CampaignRepository;
+import com.kt.campaign.service.CampaignStatsPublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 캠페인 통계 실시간 구독 WebSocket (/campaigns/live-stats?campaignIds=1,2,3)
+ *
+ * 대시보드가 /campaigns/{id}/stats 를 주기적으로 조회하는 대신 연결 하나로 여러 캠페인을 구독합니다.
+ * 핸드셰이크 요청은 JWT 인증 필터를 거치며, 요청한 캠페인이 모두 본인 캠페인(관리자는 전체)일 때만 연결됩니다.
+ * 연결 후 서버 → 클라이언트 방향으로만 프레임을 보내며, 클라이언트 메시지는 무시합니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Component
+@RequiredArgsConstructor
+public class CampaignStatsSocketHandler extends TextWebSocketHandler implements HandshakeInterceptor {
+
+    private static final String CAMPAIGN_IDS = "campaignIds";
+
+    private final CampaignStatsPublisher campaignStatsPublisher;
+    private final AppUserRepository appUserRepository;
+    private final CampaignRepository campaignRepository;
+    private final LiveStatsConfig liveStatsConfig;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || !(authentication.getPrincipal() instanceof String email)) {
+                response.setStatusCode(HttpStatus.UNAUTHORIZED);
+                return false;
+            }
+            AppUser user = appUserRepository.findByEmail(email).orElse(null);
+            if (user == null) {
+                response.setStatusCode(HttpStatus.UNAUTHORIZED);
+                return false;
+            }
+
+            List<Long> campaignIds = parseCampaignIds(UriComponentsBuilder.fromUri(request.getURI())
+                .build().getQueryParams().getFirst(CAMPAIGN_IDS));
+            if (campaignIds.isEmpty() || campaignIds.size() > liveStatsConfig.getMaxCampaignsPerConnection()) {
+                response.setStatusCode(HttpStatus.BAD_REQUEST);
+                return false;
+            }
+            // 사용자 권한 확인: 본인의 캠페인이거나 ADMIN인 경우만 구독 가능
+            boolean admin = user.getRole() == AppUser.Role.ADMIN;
+            for (Long campaignId : campaignIds) {
+                Long ownerId = campaignRepository.findUserIdById(campaignId).orElse(null);
+                if (ownerId == null || (!admin && !ownerId.equals(user.getId()))) {
+                    response.setStatusCode(HttpStatus.FORBIDDEN);
+                    return false;
+                }
+            }
+            attributes.put(CAMPAIGN_IDS, campaignIds);
+            return true;
+        } catch (Exception e) {
+            System.err.println("Live stats handshake failed: " + e.getMessage());
+            response.setStatusCode(HttpStatus.BAD_REQUEST);
+            return false;
+        }
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void afterConnectionEstablished(WebSocketSession session) {
+        List<Long> campaignIds = (List<Long>) session.getAttributes().get(CAMPAIGN_IDS);
+        // 연결별 버퍼 한도 - 넘치면 가장 오래된 프레임부터 버림
+        WebSocketSession bounded = new ConcurrentWebSocketSessionDecorator(session,
+            liveStatsConfig.getSendTimeLimitMs(), liveStatsConfig.getBufferSizeLimitBytes(),
+            ConcurrentWebSocketSessionDecorator.OverflowStrategy.DROP);
+        campaignStatsPublisher.subscribe(session.getId(), bounded, campaignIds);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        campaignStatsPublisher.unsubscribe(session.getId());
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        campaignStatsPublisher.unsubscribe(session.getId());
+    }
+
+    private static List<Long> parseCampaignIds(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        for (String part : value.split(",")) {
+            if (!part.isBlank()) {
+                ids.add(Long.parseLong(part.trim()));
+            }
+        }
+        return new ArrayList<>(ids);
+    }
+}
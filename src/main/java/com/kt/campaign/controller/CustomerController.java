@@ -5,7 +5,11 @@ import com.kt.campaign.entity.Campaign;
 import com.kt.campaign.entity.CampaignTarget;
 import com.kt.campaign.repository.CustomerRepository;
 import com.kt.campaign.repository.CampaignTargetRepository;
+import com.kt.campaign.service.TrackingEventRecorder;
+import com.kt.campaign.service.TrackingTokenCodec;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.annotation.Propagation;
@@ -15,7 +19,6 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
-import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,11 +29,15 @@ import java.util.stream.Collectors;
  * 
  * 이 컨트롤러는 고객이 받은 캠페인 메시지를 확인하고 상호작용하는 API를 제공합니다.
  * 인증 없이 접근 가능하며, 고객 ID로 메시지를 조회할 수 있습니다.
+ * 읽음/클릭 처리는 목록의 trackingToken(서명된 캠페인 id + 대상자 id)으로만 받으므로
+ * 순차 대상자 id 로 다른 고객의 메시지를 기록할 수 없습니다.
+ * 읽음/클릭 응답은 {success, queued} 입니다. queued 는 이벤트가 접수되었다는 뜻이며,
+ * 실제 반영(이미 읽음/클릭한 메시지는 바뀌지 않음)은 일괄 반영 시 결정되므로 이전의 updated 값은 더 이상 주지 않습니다.
  * 
  * 주요 기능:
  * - 고객별 받은 메시지 목록 조회
- * - 메시지 읽음 처리 (readAt 업데이트)
- * - 메시지 링크 클릭 처리 (clickAt 업데이트)
+ * - 메시지 읽음 처리 (readAt 업데이트, 이벤트 버퍼 경유 일괄 반영)
+ * - 메시지 링크 클릭 처리 (clickAt 업데이트, 이벤트 버퍼 경유 일괄 반영)
  * 
  * 특별 기능:
  * - JPA 1차 캐시 관리로 실시간 상태 업데이트 반영
@@ -46,6 +53,8 @@ public class CustomerController {
     
     private final CustomerRepository customerRepository;
     private final CampaignTargetRepository campaignTargetRepository;
+    private final TrackingTokenCodec trackingTokenCodec;
+    private final TrackingEventRecorder trackingEventRecorder;
     
     @PersistenceContext
     private EntityManager entityManager;
@@ -76,7 +85,7 @@ public class CustomerController {
             // 네이티브 SQL로 직접 조회 (JPA 캐시 완전 우회)
             List<Object[]> targetResults = entityManager.createNativeQuery(
                 "SELECT ct.id, ct.sent_at, ct.read_at, ct.click_at, " +
-                "c.title, c.message_text, c.link, u.company_name " +
+                "c.title, c.message_text, c.link, u.company_name, ct.campaign_id " +
                 "FROM campaign_targets ct " +
                 "JOIN campaigns c ON ct.campaign_id = c.id " +
                 "JOIN app_users u ON c.user_id = u.id " +
@@ -100,6 +109,9 @@ public class CustomerController {
                     message.put("messageText", result[5]); // c.message_text
                     message.put("link", result[6]); // c.link
                     message.put("companyName", result[7]); // u.company_name
+                    // 읽음/클릭 처리(/customer/messages/{token}/read|click, /t/r, /t/c)용 서명 토큰
+                    message.put("trackingToken", trackingTokenCodec.encode(
+                        ((Number) result[8]).longValue(), ((Number) result[0]).longValue()));
                     
                     System.out.println("Message " + result[0] + " readAt from DB: " + result[2]);
                     return message;
@@ -125,81 +137,37 @@ public class CustomerController {
         }
     }
     
-    @PostMapping("/messages/{targetId}/read")
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public ResponseEntity<?> markAsRead(@PathVariable Long targetId) {
+    @PostMapping("/messages/{token}/read")
+    public ResponseEntity<?> markAsRead(@PathVariable String token, HttpServletRequest request) {
         try {
-            // 먼저 현재 상태 확인
-            List<Object[]> currentState = entityManager.createNativeQuery(
-                "SELECT id, read_at, click_at FROM campaign_targets WHERE id = ?"
-            )
-            .setParameter(1, targetId)
-            .getResultList();
-            
-            System.out.println("Current state for message " + targetId + ": " + 
-                (currentState.isEmpty() ? "NOT FOUND" : 
-                "read_at=" + currentState.get(0)[1] + ", click_at=" + currentState.get(0)[2]));
-            
-            // 네이티브 SQL로 직접 업데이트 (JPA 캐시 우회)
-            LocalDateTime now = LocalDateTime.now();
-            int updatedRows = entityManager.createNativeQuery(
-                "UPDATE campaign_targets SET read_at = ? WHERE id = ? AND read_at IS NULL"
-            )
-            .setParameter(1, now)
-            .setParameter(2, targetId)
-            .executeUpdate();
-            
-            if (updatedRows > 0) {
-                // 강제로 데이터베이스에 반영하고 캐시 완전 클리어
-                entityManager.flush();
-                entityManager.clear();
-                
-                System.out.println("Message " + targetId + " marked as read at: " + now + " (Updated rows: " + updatedRows + ")");
-                return ResponseEntity.ok(Map.of("success", true, "updated", true));
-            } else {
-                // 이미 읽음 처리되었거나 존재하지 않는 메시지
-                System.out.println("Message " + targetId + " was already read or doesn't exist (Updated rows: " + updatedRows + ")");
-                return ResponseEntity.ok(Map.of("success", true, "updated", false));
+            TrackingTokenCodec.Decoded decoded = trackingTokenCodec.decode(token);
+            if (decoded == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "유효하지 않은 메시지 토큰입니다."));
             }
-            
+            // 이벤트 버퍼에 넣고 바로 응답 - 아직 읽지 않은 경우에만 일괄 반영됨
+            trackingEventRecorder.recordRead(decoded.campaignId(), decoded.targetId(),
+                    request.getHeader(HttpHeaders.USER_AGENT), request.getRemoteAddr());
+            return ResponseEntity.ok(Map.of("success", true, "queued", true));
         } catch (Exception e) {
             System.err.println("Error marking message as read: " + e.getMessage());
-            e.printStackTrace();
             return ResponseEntity.internalServerError()
                     .body(Map.of("error", "읽음 처리 중 오류가 발생했습니다."));
         }
     }
     
-    @PostMapping("/messages/{targetId}/click")
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public ResponseEntity<?> markAsClicked(@PathVariable Long targetId) {
+    @PostMapping("/messages/{token}/click")
+    public ResponseEntity<?> markAsClicked(@PathVariable String token, HttpServletRequest request) {
         try {
-            // 네이티브 SQL로 직접 업데이트 (JPA 캐시 우회)
-            LocalDateTime now = LocalDateTime.now();
-            int updatedRows = entityManager.createNativeQuery(
-                "UPDATE campaign_targets SET click_at = ?, read_at = COALESCE(read_at, ?) WHERE id = ? AND click_at IS NULL"
-            )
-            .setParameter(1, now)  // click_at
-            .setParameter(2, now)  // read_at (if null)
-            .setParameter(3, targetId)
-            .executeUpdate();
-            
-            if (updatedRows > 0) {
-                // 강제로 데이터베이스에 반영하고 캐시 완전 클리어
-                entityManager.flush();
-                entityManager.clear();
-                
-                System.out.println("Message " + targetId + " marked as clicked at: " + now + " (Updated rows: " + updatedRows + ")");
-                return ResponseEntity.ok(Map.of("success", true, "updated", true));
-            } else {
-                // 이미 클릭 처리되었거나 존재하지 않는 메시지
-                System.out.println("Message " + targetId + " was already clicked or doesn't exist");
-                return ResponseEntity.ok(Map.of("success", true, "updated", false));
+            TrackingTokenCodec.Decoded decoded = trackingTokenCodec.decode(token);
+            if (decoded == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "유효하지 않은 메시지 토큰입니다."));
             }
-            
+            // 이벤트 버퍼에 넣고 바로 응답 - 아직 클릭하지 않은 경우에만 일괄 반영됨 (읽음 포함)
+            trackingEventRecorder.recordClick(decoded.campaignId(), decoded.targetId(),
+                    request.getHeader(HttpHeaders.USER_AGENT), request.getRemoteAddr());
+            return ResponseEntity.ok(Map.of("success", true, "queued", true));
         } catch (Exception e) {
             System.err.println("Error marking message as clicked: " + e.getMessage());
-            e.printStackTrace();
             return ResponseEntity.internalServerError()
                     .body(Map.of("error", "클릭 처리 중 오류가 발생했습니다."));
         }
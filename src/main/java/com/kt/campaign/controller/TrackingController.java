@@ -1,7 +1,10 @@
 package com.kt.campaign.controller;
 
-import com.kt.campaign.entity.CampaignTarget;
-import com.kt.campaign.repository.CampaignTargetRepository;
+import com.kt.campaign.config.TrackingConfig;
+import com.kt.campaign.service.CampaignLinkCache;
+import com.kt.campaign.service.TrackingEventRecorder;
+import com.kt.campaign.service.TrackingTokenCodec;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -9,80 +12,80 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
-import java.time.LocalDateTime;
 
+/**
+ * 문자 읽음/클릭 추적 API
+ *
+ * 경로의 토큰은 TrackingTokenCodec 으로 서명된 (캠페인 id, 대상자 id) 입니다.
+ * 서명이 맞지 않는 토큰은 기록 없이 응답하므로 순차 id 로 다른 대상자를 기록할 수 없습니다.
+ * 응답 경로에서는 엔티티를 조회하지 않으며, 클릭 리다이렉트 주소는 CampaignLinkCache 에서 찾고
+ * 읽음/클릭 기록은 TrackingEventRecorder 가 원본 이벤트 로그에 추가하고 버퍼를 거쳐 일괄 반영합니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
 @RestController
 @RequestMapping("/t")
 @RequiredArgsConstructor
 public class TrackingController {
     
-    private final CampaignTargetRepository campaignTargetRepository;
+    // 1x1 투명 GIF
+    private static final byte[] PIXEL = new byte[]{
+        (byte) 0x47, (byte) 0x49, (byte) 0x46, (byte) 0x38, (byte) 0x39, (byte) 0x61,
+        (byte) 0x01, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x80, (byte) 0x00,
+        (byte) 0x00, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0x00, (byte) 0x00,
+        (byte) 0x00, (byte) 0x21, (byte) 0xF9, (byte) 0x04, (byte) 0x01, (byte) 0x00,
+        (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x2C, (byte) 0x00, (byte) 0x00,
+        (byte) 0x00, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x01, (byte) 0x00,
+        (byte) 0x00, (byte) 0x02, (byte) 0x02, (byte) 0x04, (byte) 0x01, (byte) 0x00,
+        (byte) 0x3B
+    };
     
-    @GetMapping("/r/{targetId}")
-    public ResponseEntity<byte[]> trackRead(@PathVariable Long targetId) {
+    private final TrackingTokenCodec trackingTokenCodec;
+    private final CampaignLinkCache campaignLinkCache;
+    private final TrackingEventRecorder trackingEventRecorder;
+    private final TrackingConfig trackingConfig;
+    
+    @GetMapping("/r/{token}")
+    public ResponseEntity<byte[]> trackRead(@PathVariable String token, HttpServletRequest request) {
         try {
-            CampaignTarget target = campaignTargetRepository.findById(targetId)
-                    .orElse(null);
-            
-            if (target != null && target.getReadAt() == null) {
-                target.setReadAt(LocalDateTime.now());
-                campaignTargetRepository.save(target);
+            TrackingTokenCodec.Decoded decoded = trackingTokenCodec.decode(token);
+            if (decoded != null) {
+                trackingEventRecorder.recordRead(decoded.campaignId(), decoded.targetId(),
+                    request.getHeader(HttpHeaders.USER_AGENT), request.getRemoteAddr());
             }
-            
-            // 1x1 투명 픽셀 이미지 반환
-            byte[] pixel = new byte[]{
-                (byte) 0x47, (byte) 0x49, (byte) 0x46, (byte) 0x38, (byte) 0x39, (byte) 0x61,
-                (byte) 0x01, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x80, (byte) 0x00,
-                (byte) 0x00, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0x00, (byte) 0x00,
-                (byte) 0x00, (byte) 0x21, (byte) 0xF9, (byte) 0x04, (byte) 0x01, (byte) 0x00,
-                (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x2C, (byte) 0x00, (byte) 0x00,
-                (byte) 0x00, (byte) 0x00, (byte) 0x01, (byte) 0x00, (byte) 0x01, (byte) 0x00,
-                (byte) 0x00, (byte) 0x02, (byte) 0x02, (byte) 0x04, (byte) 0x01, (byte) 0x00,
-                (byte) 0x3B
-            };
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.add("Content-Type", "image/gif");
-            headers.add("Cache-Control", "no-cache, no-store, must-revalidate");
-            
-            return new ResponseEntity<>(pixel, headers, HttpStatus.OK);
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            System.err.println("Read tracking failed: " + e.getMessage());
         }
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Content-Type", "image/gif");
+        headers.add("Cache-Control", "no-cache, no-store, must-revalidate");
+        return new ResponseEntity<>(PIXEL, headers, HttpStatus.OK);
     }
     
-    @GetMapping("/c/{targetId}")
-    public ResponseEntity<Void> trackClick(@PathVariable Long targetId) {
+    @GetMapping("/c/{token}")
+    public ResponseEntity<Void> trackClick(@PathVariable String token, HttpServletRequest request) {
+        String redirectUrl = trackingConfig.getDefaultRedirectUrl();
+        TrackingTokenCodec.Decoded decoded = null;
         try {
-            CampaignTarget target = campaignTargetRepository.findById(targetId)
-                    .orElse(null);
-            
-            if (target != null) {
-                if (target.getReadAt() == null) {
-                    target.setReadAt(LocalDateTime.now());
-                }
-                if (target.getClickAt() == null) {
-                    target.setClickAt(LocalDateTime.now());
-                }
-                campaignTargetRepository.save(target);
-                
-                // 캠페인 링크로 리다이렉트
-                String redirectUrl = target.getCampaign().getLink();
-                if (redirectUrl != null && !redirectUrl.isEmpty()) {
-                    return ResponseEntity.status(HttpStatus.FOUND)
-                            .location(URI.create(redirectUrl))
-                            .build();
-                }
+            decoded = trackingTokenCodec.decode(token);
+            if (decoded != null) {
+                // 캠페인 링크로 리다이렉트 - 기록 실패와 무관하게 먼저 결정
+                redirectUrl = campaignLinkCache.redirectUrl(decoded.campaignId());
             }
-            
-            // 기본 리다이렉트 URL
-            return ResponseEntity.status(HttpStatus.FOUND)
-                    .location(URI.create("https://shop.kt.com/"))
-                    .build();
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.FOUND)
-                    .location(URI.create("https://shop.kt.com/"))
-                    .build();
+            System.err.println("Click redirect lookup failed: " + e.getMessage());
+        }
+        if (decoded != null) {
+            try {
+                trackingEventRecorder.recordClick(decoded.campaignId(), decoded.targetId(),
+                    request.getHeader(HttpHeaders.USER_AGENT), request.getRemoteAddr());
+            } catch (Exception e) {
+                System.err.println("Click tracking failed: " + e.getMessage());
+            }
         }
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .location(URI.create(redirectUrl))
+                .build();
     }
 }
@@ -17,9 +17,12 @@ import java.util.Map;
  * 
  * 주요 속성:
  * - 캠페인 기본 정보 (제목, 메시지 내용, 링크)
- * - 상태 관리 (초안, 대기, 진행중, 완료, 취소)
+ * - 상태 관리 (초안, 예약, 진행중, 완료, 실패)
+ * - 예약 발송 시각 (scheduledAt, SCHEDULED 상태에서 CampaignScheduler 가 발송 시작)
  * - 비용 정보 (예상 비용, 최종 비용, 수신자당 가격)
- * - 필터 조건 (JSON 형태로 저장)
+ * - 발송 진행률 (sentCount / recipientsCount)
+ * - 빈도 제한으로 제외된 고객 수 (frequencyCapExcluded, 대상자 생성 시점)
+ * - 필터 조건 (JSON 형태로 저장, 정규화 키 filterKey 함께 저장)
  * 
  * 연관 관계:
  * - AppUser: 캠페인을 생성한 사용자 (N:1)
@@ -53,6 +56,10 @@ public class Campaign {
     @Column(columnDefinition = "jsonb")
     private Map<String, Object> filters;
     
+    // CampaignFilter.canonicalKey() - 동일 타겟팅 조건 식별용
+    @Column(name = "filter_key", length = 64)
+    private String filterKey;
+    
     @Column(name = "price_per_recipient")
     private Integer pricePerRecipient;
     
@@ -65,6 +72,18 @@ public class Campaign {
     @Column(name = "recipients_count")
     private Integer recipientsCount;
     
+    // 발송 처리 완료된 대상자 수 (청크 단위 진행률)
+    @Column(name = "sent_count")
+    private Integer sentCount = 0;
+    
+    // 예약 발송 시각 (SCHEDULED 상태일 때만 의미 있음)
+    @Column(name = "scheduled_at")
+    private LocalDateTime scheduledAt;
+    
+    // 대상자 생성 시 수신 빈도 제한에 걸려 제외된 조건 일치 고객 수
+    @Column(name = "frequency_cap_excluded")
+    private Integer frequencyCapExcluded;
+    
     @Enumerated(EnumType.STRING)
     private Status status = Status.DRAFT;
     
@@ -72,6 +91,6 @@ public class Campaign {
     private LocalDateTime createdAt = LocalDateTime.now();
     
     public enum Status {
-        DRAFT, SENDING, COMPLETED, FAILED
+        DRAFT, SCHEDULED, SENDING, COMPLETED, FAILED
     }
 }
@@ -0,0 +1,54 @@
+package com.kt.campaign.entity;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * 캠페인별 대상자 연령대 × 성별 인원 (campaign_demographics)
+ *
+ * 대상자 생성(TARGET 작업)과 같은 트랜잭션에서 한 번 채워집니다.
+ *
+ * 연령대(ageBand)는 20~60 의 10년 단위 값이며, 쓰기와 조회는 DemographicCubeRepository 의 SQL 로 수행합니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Entity
+@Table(name = "campaign_demographics")
+@IdClass(CampaignDemographic.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class CampaignDemographic {
+
+    @Id
+    @Column(name = "campaign_id")
+    private Long campaignId;
+
+    @Id
+    @Column(name = "age_band")
+    private Short ageBand;
+
+    @Id
+    @Column(length = 10)
+    private String gender;
+
+    @Column(name = "target_count", nullable = false)
+    private Long targetCount = 0L;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long campaignId;
+        private Short ageBand;
+        private String gender;
+    }
+}
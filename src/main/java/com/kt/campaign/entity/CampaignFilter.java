@@ -0,0 +1,203 @@
+package com.kt.campaign.entity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Year;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 캠페인 타겟팅 필터 (정규화된 불변 값)
+ *
+ * 프론트엔드가 보내는 enabled/value 구조의 필터 Map을 요청당 한 번만 파싱하여
+ * 미리보기, 캠페인 생성, 타겟 생성이 모두 같은 값을 사용하도록 합니다.
+ *
+ * 정규화 규칙:
+ * - 빈 문자열은 null (조건 미적용)
+ * - 반경 중심 좌표는 소수점 6자리(약 0.1m)로 반올림
+ * - activeFilters 는 enabled 된 필터 개수 (단가 계산 기준, 값이 비어 있어도 포함)
+ *
+ * canonicalKey()는 같은 조건이면 항상 같은 문자열이 되므로 미리보기 캐시, 중복 제거,
+ * 발송 시점의 대상자 재사용 키로 사용합니다. Campaign.filterKey 에 저장됩니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+public record CampaignFilter(String gender,
+                             String sido,
+                             String sigungu,
+                             Integer ageFrom,
+                             Integer ageTo,
+                             Double centerLat,
+                             Double centerLng,
+                             Integer radiusMeters,
+                             int activeFilters) {
+
+    public static final CampaignFilter EMPTY = new CampaignFilter(null, null, null, null, null, null, null, null, 0);
+
+    /**
+     * enabled/value 구조의 필터 Map 파싱
+     */
+    @SuppressWarnings("unchecked")
+    public static CampaignFilter from(Map<String, Object> filters) {
+        if (filters == null) {
+            return EMPTY;
+        }
+
+        String gender = null;
+        String sido = null;
+        String sigungu = null;
+        Integer ageFrom = null;
+        Integer ageTo = null;
+        Double centerLat = null;
+        Double centerLng = null;
+        Integer radiusMeters = null;
+        int activeFilters = 0;
+
+        // 성별 필터
+        Map<String, Object> genderFilter = enabledFilter(filters, "gender");
+        if (genderFilter != null) {
+            activeFilters++;
+            gender = blankToNull((String) genderFilter.get("value"));
+        }
+
+        // 지역 필터
+        Map<String, Object> regionFilter = enabledFilter(filters, "region");
+        if (regionFilter != null) {
+            activeFilters++;
+            if (regionFilter.get("value") instanceof Map) {
+                Map<String, Object> regionValue = (Map<String, Object>) regionFilter.get("value");
+                sido = blankToNull((String) regionValue.get("sido"));
+                sigungu = blankToNull((String) regionValue.get("sigungu"));
+            }
+        }
+
+        // 나이 필터
+        Map<String, Object> ageFilter = enabledFilter(filters, "ageRange");
+        if (ageFilter != null) {
+            activeFilters++;
+            if (ageFilter.get("value") instanceof List) {
+                List<Object> ageRange = (List<Object>) ageFilter.get("value");
+                if (ageRange.size() == 2) {
+                    ageFrom = toInteger(ageRange.get(0));
+                    ageTo = toInteger(ageRange.get(1));
+                }
+            }
+        }
+
+        // 반경 필터
+        Map<String, Object> radiusFilter = enabledFilter(filters, "radius");
+        if (radiusFilter != null) {
+            activeFilters++;
+            if (radiusFilter.get("value") instanceof Map) {
+                Map<String, Object> radiusValue = (Map<String, Object>) radiusFilter.get("value");
+                if (radiusValue.get("lat") != null && radiusValue.get("lng") != null && radiusValue.get("meters") != null) {
+                    centerLat = roundCoordinate(((Number) radiusValue.get("lat")).doubleValue());
+                    centerLng = roundCoordinate(((Number) radiusValue.get("lng")).doubleValue());
+                    radiusMeters = ((Number) radiusValue.get("meters")).intValue();
+                }
+            }
+        }
+
+        return new CampaignFilter(gender, sido, sigungu, ageFrom, ageTo, centerLat, centerLng, radiusMeters, activeFilters);
+    }
+
+    /**
+     * 목록 조회용 필터 (요청 파라미터 기반, 반경 조건 없음)
+     */
+    public static CampaignFilter of(String gender, String sido, String sigungu, Integer ageFrom, Integer ageTo) {
+        gender = blankToNull(gender);
+        sido = blankToNull(sido);
+        sigungu = blankToNull(sigungu);
+        int activeFilters = (gender != null ? 1 : 0)
+            + (sido != null || sigungu != null ? 1 : 0)
+            + (ageFrom != null || ageTo != null ? 1 : 0);
+        return new CampaignFilter(gender, sido, sigungu, ageFrom, ageTo, null, null, null, activeFilters);
+    }
+
+    public boolean hasRadius() {
+        return centerLat != null && centerLng != null && radiusMeters != null;
+    }
+
+    public boolean hasAgeRange() {
+        return ageFrom != null || ageTo != null;
+    }
+
+    /**
+     * 나이 상한(ageTo)에 해당하는 최소 출생연도, 조건이 없으면 null
+     * 나이는 (올해 - 출생연도) 이므로 a세 이하 = 출생연도 (올해 - a) 이상
+     */
+    public Integer minBirthYear() {
+        return ageTo != null ? birthYearOf(ageTo) : null;
+    }
+
+    /**
+     * 나이 하한(ageFrom)에 해당하는 최대 출생연도, 조건이 없으면 null
+     */
+    public Integer maxBirthYear() {
+        return ageFrom != null ? birthYearOf(ageFrom) : null;
+    }
+
+    /**
+     * 올해 기준 나이 → 출생연도
+     */
+    public static int birthYearOf(int age) {
+        return Year.now().getValue() - age;
+    }
+
+    /**
+     * 조건을 고정된 순서로 직렬화한 정규 문자열
+     */
+    public String canonicalString() {
+        return "gender=" + nullToEmpty(gender)
+            + ";sido=" + nullToEmpty(sido)
+            + ";sigungu=" + nullToEmpty(sigungu)
+            + ";age=" + nullToEmpty(ageFrom) + ".." + nullToEmpty(ageTo)
+            + ";radius=" + (hasRadius()
+                ? String.format(Locale.ROOT, "%.6f,%.6f,%d", centerLat, centerLng, radiusMeters)
+                : "")
+            + ";active=" + activeFilters;
+    }
+
+    /**
+     * 정규 문자열의 SHA-256 앞 128비트 (32자리 hex)
+     */
+    public String canonicalKey() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(canonicalString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> enabledFilter(Map<String, Object> filters, String name) {
+        if (filters.get(name) instanceof Map) {
+            Map<String, Object> filter = (Map<String, Object>) filters.get(name);
+            if (Boolean.TRUE.equals(filter.get("enabled"))) {
+                return filter;
+            }
+        }
+        return null;
+    }
+
+    private static String blankToNull(String value) {
+        return value != null && value.trim().isEmpty() ? null : value;
+    }
+
+    private static Integer toInteger(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : null;
+    }
+
+    private static double roundCoordinate(double value) {
+        return Math.round(value * 1_000_000d) / 1_000_000d;
+    }
+
+    private static String nullToEmpty(Object value) {
+        return value == null ? "" : value.toString();
+    }
+}
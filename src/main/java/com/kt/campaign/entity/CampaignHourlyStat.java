@@ -0,0 +1,56 @@
+package com.kt.campaign.entity;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 캠페인 시간별 발송/읽음/클릭 집계 (campaign_hourly_stats)
+ *
+ * 캠페인과 실제 시간 구간(hourBucket, 시 단위로 자른 시각)마다 한 행입니다.
+ * 발송 결과 반영과 읽음/클릭 반영 시 같은 트랜잭션에서 증분 UPSERT 로 갱신되며,
+ * 쓰기와 조회는 CampaignHourlyStatsRepository 의 SQL 로 수행합니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Entity
+@Table(name = "campaign_hourly_stats")
+@IdClass(CampaignHourlyStat.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class CampaignHourlyStat {
+
+    @Id
+    @Column(name = "campaign_id")
+    private Long campaignId;
+
+    @Id
+    @Column(name = "hour_bucket")
+    private LocalDateTime hourBucket;
+
+    @Column(name = "sent_count", nullable = false)
+    private Long sentCount = 0L;
+
+    @Column(name = "read_count", nullable = false)
+    private Long readCount = 0L;
+
+    @Column(name = "click_count", nullable = false)
+    private Long clickCount = 0L;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long campaignId;
+        private LocalDateTime hourBucket;
+    }
+}
@@ -0,0 +1,104 @@
+package com.kt.campaign.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 캠페인 발송 작업 큐 항목
+ *
+ * 발송 요청 시 TARGET 작업 하나가 등록되고, TARGET 작업이 대상자를 생성한 뒤
+ * 대상자 id 범위마다 DELIVER 작업을 등록합니다. 워커는 여러 노드에서
+ * SELECT ... FOR UPDATE SKIP LOCKED 로 QUEUED 작업을 하나씩 가져가 처리합니다.
+ *
+ * DELIVER 작업은 배치 결과를 반영할 때마다 checkpointTargetId 와 heartbeatAt 을 갱신하므로,
+ * 노드가 중단되면 회수된 작업이 체크포인트 다음 대상자부터 이어서 처리됩니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Entity
+@Table(name = "campaign_send_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class CampaignSendJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "campaign_id", nullable = false)
+    private Long campaignId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Type type;
+
+    // DELIVER 작업의 대상자 id 범위 (양 끝 포함)
+    @Column(name = "from_target_id")
+    private Long fromTargetId;
+
+    @Column(name = "to_target_id")
+    private Long toTargetId;
+
+    // 공정 분배용 가상 시작 시각 (DeliveryScheduler), TARGET 작업은 null 로 가장 먼저 처리
+    @Column(name = "virtual_start")
+    private Double virtualStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.QUEUED;
+
+    private Integer attempts = 0;
+
+    @Column(name = "locked_by", length = 100)
+    private String lockedBy;
+
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+
+    // 처리 중인 워커가 주기적으로 갱신 - 오래 갱신되지 않은 RUNNING 작업은 다른 워커가 회수
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    // DELIVER 작업에서 결과 반영이 끝난 마지막 대상자 id (재개 시 다음 id 부터 처리)
+    @Column(name = "checkpoint_target_id")
+    private Long checkpointTargetId;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum Type {
+        TARGET, DELIVER
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, DONE, FAILED
+    }
+
+    public static CampaignSendJob target(Long campaignId) {
+        CampaignSendJob job = new CampaignSendJob();
+        job.setCampaignId(campaignId);
+        job.setType(Type.TARGET);
+        return job;
+    }
+
+    public static CampaignSendJob deliver(Long campaignId, Long fromTargetId, Long toTargetId, double virtualStart) {
+        CampaignSendJob job = new CampaignSendJob();
+        job.setCampaignId(campaignId);
+        job.setType(Type.DELIVER);
+        job.setFromTargetId(fromTargetId);
+        job.setToTargetId(toTargetId);
+        job.setVirtualStart(virtualStart);
+        return job;
+    }
+}
@@ -0,0 +1,54 @@
+package com.kt.campaign.entity;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * 사용자별 완료 캠페인 대상자 연령대 × 성별 인원 (user_demographics)
+ *
+ * 캠페인이 COMPLETED 로 전환되는 트랜잭션에서 해당 캠페인 분포를 더합니다.
+ *
+ * 연령대(ageBand)는 20~60 의 10년 단위 값이며, 쓰기와 조회는 DemographicCubeRepository 의 SQL 로 수행합니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Entity
+@Table(name = "user_demographics")
+@IdClass(UserDemographic.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserDemographic {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "age_band")
+    private Short ageBand;
+
+    @Id
+    @Column(length = 10)
+    private String gender;
+
+    @Column(name = "target_count", nullable = false)
+    private Long targetCount = 0L;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long userId;
+        private Short ageBand;
+        private String gender;
+    }
+}
@@ -0,0 +1,28 @@
+package com.kt.campaign.gateway;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 문자 발송 게이트웨이 SPI
+ *
+ * 구현체는 여러 건을 한 번에 접수하고, 접수 결과는 비동기로 완료되는 CompletableFuture 로 돌려줍니다.
+ * 호출 측은 응답을 기다리지 않고 여러 배치를 동시에 보낼 수 있습니다.
+ *
+ * 결과 목록에는 요청한 모든 메시지의 결과가 targetId 기준으로 포함되어야 합니다.
+ * 배치 전체가 실패한 경우에는 future 를 예외로 완료합니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+public interface MessageGateway {
+
+    /**
+     * 게이트웨이 이름 (통계/로그용)
+     */
+    String name();
+
+    /**
+     * 배치 접수
+     */
+    CompletableFuture<List<SubmitResult>> submit(List<OutboundMessage> batch);
+}
@@ -0,0 +1,13 @@
+package com.kt.campaign.gateway;
+
+/**
+ * 게이트웨이로 보내는 문자 한 건
+ *
+ * @param targetId 캠페인 대상자 id (결과를 CampaignTarget 에 되돌릴 때 사용)
+ * @param phone    수신 번호
+ * @param text     최종 본문
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+public record OutboundMessage(Long targetId, String phone, String text) {
+}
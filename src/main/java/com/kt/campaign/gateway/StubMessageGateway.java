@@ -0,0 +1,77 @@
+package com.kt.campaign.gateway;
+
+import com.kt.campaign.config.GatewayConfig;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로컬 인프로세스 스텁 게이트웨이 (벤치마크/개발용)
+ *
+ * 실제 통신 없이 설정된 지연(latencyMs + 0~latencyJitterMs) 뒤에 배치 결과를 완료합니다.
+ * 메시지마다 failureRate 확률로 실패(STUB_FAILURE) 처리합니다.
+ * app.gateway.type=stub (기본값) 일 때 등록됩니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.gateway", name = "type", havingValue = "stub", matchIfMissing = true)
+public class StubMessageGateway implements MessageGateway {
+
+    private final GatewayConfig.Stub config;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public StubMessageGateway(GatewayConfig gatewayConfig) {
+        this.config = gatewayConfig.getStub();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(Math.max(1, config.getThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "stub-gateway-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public String name() {
+        return "stub";
+    }
+
+    @Override
+    public CompletableFuture<List<SubmitResult>> submit(List<OutboundMessage> batch) {
+        CompletableFuture<List<SubmitResult>> future = new CompletableFuture<>();
+        long jitter = config.getLatencyJitterMs() > 0
+            ? ThreadLocalRandom.current().nextLong(config.getLatencyJitterMs() + 1) : 0;
+        scheduler.schedule(() -> future.complete(results(batch)),
+            config.getLatencyMs() + jitter, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private List<SubmitResult> results(List<OutboundMessage> batch) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<SubmitResult> results = new ArrayList<>(batch.size());
+        for (OutboundMessage message : batch) {
+            if (config.getFailureRate() > 0 && random.nextDouble() < config.getFailureRate()) {
+                results.add(SubmitResult.rejected(message.targetId(), "STUB_FAILURE"));
+            } else {
+                results.add(SubmitResult.accepted(message.targetId(), "stub-" + sequence.incrementAndGet()));
+            }
+        }
+        return results;
+    }
+}
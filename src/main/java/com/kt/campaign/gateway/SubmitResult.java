@@ -0,0 +1,22 @@
+package com.kt.campaign.gateway;
+
+/**
+ * 문자 한 건의 게이트웨이 접수 결과
+ *
+ * @param targetId  캠페인 대상자 id
+ * @param accepted  접수 성공 여부
+ * @param messageId 게이트웨이 메시지 id (실패 시 null)
+ * @param errorCode 실패 사유 코드 (성공 시 null)
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+public record SubmitResult(Long targetId, boolean accepted, String messageId, String errorCode) {
+
+    public static SubmitResult accepted(Long targetId, String messageId) {
+        return new SubmitResult(targetId, true, messageId, null);
+    }
+
+    public static SubmitResult rejected(Long targetId, String errorCode) {
+        return new SubmitResult(targetId, false, null, errorCode);
+    }
+}
@@ -0,0 +1,116 @@
+package com.kt.campaign.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 캠페인 시간별 집계(campaign_hourly_stats) 갱신/조회
+ *
+ * 발송 결과는 배치마다 addSent 한 번으로, 읽음/클릭은 TrackingEventRepository 의 반영 문장 안에서
+ * 증분 UPSERT 됩니다. rebuild 는 원본 campaign_targets 로 집계를 다시 계산합니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Repository
+public class CampaignHourlyStatsRepository {
+
+    // 원본 대상자 행을 (캠페인, 시간 구간) 별 발송/읽음/클릭 수로 집계 - {0}: 추가 조건
+    private static final String AGGREGATE_RAW =
+        "SELECT campaign_id, bucket, SUM(s), SUM(r), SUM(c) FROM (" +
+        "SELECT campaign_id, date_trunc('hour', sent_at) AS bucket, 1 AS s, 0 AS r, 0 AS c " +
+        "FROM campaign_targets WHERE sent_at IS NOT NULL {0} " +
+        "UNION ALL SELECT campaign_id, date_trunc('hour', read_at), 0, 1, 0 " +
+        "FROM campaign_targets WHERE read_at IS NOT NULL {0} " +
+        "UNION ALL SELECT campaign_id, date_trunc('hour', click_at), 0, 0, 1 " +
+        "FROM campaign_targets WHERE click_at IS NOT NULL {0}" +
+        ") e GROUP BY campaign_id, bucket";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record HourlyRow(LocalDateTime hour, long sent, long read, long click) {
+    }
+
+    public record DailyRow(LocalDate day, long spent, long sent, long read, long click) {
+    }
+
+    public CampaignHourlyStatsRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * 발송 완료 수 증분 반영 (호출 측 트랜잭션에 참여)
+     */
+    public void addSent(long campaignId, LocalDateTime sentAt, long count) {
+        if (count == 0) {
+            return;
+        }
+        jdbcTemplate.update(
+            "INSERT INTO campaign_hourly_stats (campaign_id, hour_bucket, sent_count, read_count, click_count) " +
+            "VALUES (?, date_trunc('hour', CAST(? AS TIMESTAMP)), ?, 0, 0) " +
+            "ON CONFLICT (campaign_id, hour_bucket) " +
+            "DO UPDATE SET sent_count = campaign_hourly_stats.sent_count + EXCLUDED.sent_count",
+            campaignId, Timestamp.valueOf(sentAt), count);
+    }
+
+    /**
+     * 캠페인의 시간 구간별 집계 (시간순)
+     */
+    public List<HourlyRow> findByCampaignId(long campaignId) {
+        return jdbcTemplate.query(
+            "SELECT hour_bucket, sent_count, read_count, click_count FROM campaign_hourly_stats " +
+            "WHERE campaign_id = ? ORDER BY hour_bucket",
+            (rs, rowNum) -> new HourlyRow(rs.getTimestamp(1).toLocalDateTime(),
+                rs.getLong(2), rs.getLong(3), rs.getLong(4)),
+            campaignId);
+    }
+
+    /**
+     * 사용자의 완료 캠페인을 생성일별로 묶은 비용/발송/읽음/클릭 합계 (생성일순)
+     * 캠페인별 합계는 집계 테이블 기본 키 범위 조회로 구하므로 대상자 행을 읽지 않습니다.
+     */
+    public List<DailyRow> sumCompletedByCreatedDate(long userId) {
+        return jdbcTemplate.query(
+            "SELECT CAST(c.created_at AS DATE) AS day, " +
+            "COALESCE(SUM(c.final_cost), 0), COALESCE(SUM(s.sent), 0), COALESCE(SUM(s.read), 0), COALESCE(SUM(s.click), 0) " +
+            "FROM campaigns c LEFT JOIN LATERAL (" +
+            "SELECT SUM(h.sent_count) AS sent, SUM(h.read_count) AS read, SUM(h.click_count) AS click " +
+            "FROM campaign_hourly_stats h WHERE h.campaign_id = c.id) s ON TRUE " +
+            "WHERE c.user_id = ? AND c.status = 'COMPLETED' " +
+            "GROUP BY CAST(c.created_at AS DATE) ORDER BY day",
+            (rs, rowNum) -> new DailyRow(rs.getDate(1).toLocalDate(), rs.getLong(2), rs.getLong(3),
+                rs.getLong(4), rs.getLong(5)),
+            userId);
+    }
+
+    public boolean isEmpty() {
+        return !Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM campaign_hourly_stats)", Boolean.class));
+    }
+
+    /**
+     * 원본 데이터로 집계 재계산 (campaignId 가 null 이면 전체), 기록한 행 수 반환
+     *
+     * 테이블을 EXCLUSIVE 로 잠가 재계산 중의 증분 UPSERT 를 대기시킵니다.
+     * 잠금 전에 반영된 증분은 원본에 이미 커밋되어 재계산에 포함되고,
+     * 대기한 증분은 재계산 커밋 뒤에 더해지므로 두 번 세거나 빠뜨리지 않습니다.
+     */
+    @Transactional
+    public int rebuild(Long campaignId) {
+        jdbcTemplate.execute("LOCK TABLE campaign_hourly_stats IN EXCLUSIVE MODE");
+        String insert = "INSERT INTO campaign_hourly_stats (campaign_id, hour_bucket, sent_count, read_count, click_count) ";
+        if (campaignId == null) {
+            jdbcTemplate.update("DELETE FROM campaign_hourly_stats");
+            return jdbcTemplate.update(insert + AGGREGATE_RAW.replace("{0}", ""));
+        }
+        jdbcTemplate.update("DELETE FROM campaign_hourly_stats WHERE campaign_id = ?", campaignId);
+        String aggregate = AGGREGATE_RAW.replace("{0}", "AND campaign_id = ?");
+        return jdbcTemplate.update(insert + aggregate, campaignId, campaignId, campaignId);
+    }
+}
@@ -1,20 +1,72 @@
 package com.kt.campaign.repository;
 
 import com.kt.campaign.entity.Campaign;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CampaignRepository extends JpaRepository<Campaign, Long> {
     
     List<Campaign> findByUserIdOrderByCreatedAtDesc(Long userId);
     
+    List<Campaign> findTop5ByUserIdOrderByCreatedAtDesc(Long userId);
+    
     @Query("SELECT c FROM Campaign c WHERE c.user.id = :userId AND c.createdAt >= :startTime")
     List<Campaign> findByUserIdAndCreatedAtAfter(@Param("userId") Long userId, 
                                                 @Param("startTime") LocalDateTime startTime);
+    
+    // 청크 발송 진행률 누적
+    @Modifying
+    @Query(value = "UPDATE campaigns SET sent_count = COALESCE(sent_count, 0) + :delta WHERE id = :campaignId",
+           nativeQuery = true)
+    int addSentCount(@Param("campaignId") Long campaignId, @Param("delta") int delta);
+    
+    // 대기/실행 중인 발송 작업이 없을 때만 SENDING → COMPLETED (동시에 여러 워커가 호출해도 한 번만 성공)
+    @Modifying
+    @Query(value = "UPDATE campaigns SET status = 'COMPLETED' WHERE id = :campaignId AND status = 'SENDING' " +
+                   "AND NOT EXISTS (SELECT 1 FROM campaign_send_jobs j WHERE j.campaign_id = :campaignId " +
+                   "AND j.status IN ('QUEUED', 'RUNNING'))",
+           nativeQuery = true)
+    int completeIfNoPendingJobs(@Param("campaignId") Long campaignId);
+    
+    // 대기/실행 중인 발송 작업 없이 SENDING 에 멈춘 캠페인 (노드 중단, 이전 버전에서 발송된 캠페인 등)
+    @Query(value = "SELECT c.id FROM campaigns c WHERE c.status = 'SENDING' " +
+                   "AND NOT EXISTS (SELECT 1 FROM campaign_send_jobs j WHERE j.campaign_id = c.id " +
+                   "AND j.status IN ('QUEUED', 'RUNNING'))",
+           nativeQuery = true)
+    List<Long> findStalledSendingIds();
+    
+    // 대상자 생성을 직렬화하기 위한 캠페인 행 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Campaign c WHERE c.id = :campaignId")
+    Optional<Campaign> findByIdForUpdate(@Param("campaignId") Long campaignId);
+    
+    // 예약 시각이 지난 SCHEDULED → SENDING (여러 노드가 같은 예약을 실행해도 한 노드만 성공)
+    @Modifying
+    @Query(value = "UPDATE campaigns SET status = 'SENDING' WHERE id = :campaignId " +
+                   "AND status = 'SCHEDULED' AND scheduled_at <= :now",
+           nativeQuery = true)
+    int claimScheduled(@Param("campaignId") Long campaignId, @Param("now") LocalDateTime now);
+    
+    // horizon 이전에 실행할 예약 캠페인 [id, scheduled_at]
+    @Query("SELECT c.id, c.scheduledAt FROM Campaign c " +
+           "WHERE c.status = com.kt.campaign.entity.Campaign.Status.SCHEDULED AND c.scheduledAt < :horizon")
+    List<Object[]> findScheduledBefore(@Param("horizon") LocalDateTime horizon);
+    
+    // 클릭 리다이렉트용 링크만 조회
+    @Query("SELECT c.link FROM Campaign c WHERE c.id = :campaignId")
+    Optional<String> findLinkById(@Param("campaignId") Long campaignId);
+    
+    // 구독 권한 확인용 소유자 id만 조회
+    @Query("SELECT c.user.id FROM Campaign c WHERE c.id = :campaignId")
+    Optional<Long> findUserIdById(@Param("campaignId") Long campaignId);
 }
@@ -0,0 +1,83 @@
+package com.kt.campaign.repository;
+
+import com.kt.campaign.entity.CampaignSendJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CampaignSendJobRepository extends JpaRepository<CampaignSendJob, Long> {
+    
+    // 다른 워커가 잠근 작업은 건너뛰고 가상 시작 시각이 가장 이른 대기 작업 하나를 잠금 (트랜잭션 안에서 호출)
+    // TARGET 작업(virtual_start 없음)이 먼저, 그다음 DELIVER 작업을 공정 분배 순서로
+    @Query(value = "SELECT * FROM campaign_send_jobs WHERE status = 'QUEUED' " +
+                   "ORDER BY virtual_start ASC NULLS FIRST, id ASC LIMIT 1 FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    Optional<CampaignSendJob> lockNextQueued();
+    
+    @Query("SELECT COUNT(j) FROM CampaignSendJob j WHERE j.campaignId = :campaignId " +
+           "AND j.status IN (com.kt.campaign.entity.CampaignSendJob.Status.QUEUED, " +
+           "com.kt.campaign.entity.CampaignSendJob.Status.RUNNING)")
+    long countPendingByCampaignId(@Param("campaignId") Long campaignId);
+    
+    long countByStatus(CampaignSendJob.Status status);
+    
+    // 배치 결과 반영 시 체크포인트 전진 및 생존 신호 갱신
+    @Modifying
+    @Query(value = "UPDATE campaign_send_jobs SET checkpoint_target_id = GREATEST(COALESCE(checkpoint_target_id, 0), :targetId), " +
+                   "heartbeat_at = NOW() WHERE id = :jobId",
+           nativeQuery = true)
+    int checkpoint(@Param("jobId") Long jobId, @Param("targetId") Long targetId);
+    
+    // 처리 중인 작업의 생존 신호 갱신 (대상자 생성처럼 체크포인트가 없는 긴 작업 포함)
+    @Modifying
+    @Query(value = "UPDATE campaign_send_jobs SET heartbeat_at = NOW() WHERE id IN (:jobIds) AND status = 'RUNNING'",
+           nativeQuery = true)
+    int heartbeat(@Param("jobIds") Collection<Long> jobIds);
+    
+    @Modifying
+    @Query(value = "UPDATE campaign_send_jobs SET status = 'DONE', updated_at = NOW() WHERE id = :jobId",
+           nativeQuery = true)
+    int markDone(@Param("jobId") Long jobId);
+    
+    // 재시도 대기열로 되돌리거나(QUEUED) 최종 실패(FAILED) 처리 - 체크포인트는 유지
+    @Modifying
+    @Query(value = "UPDATE campaign_send_jobs SET status = :status, locked_by = NULL, locked_at = NULL, " +
+                   "last_error = :error, updated_at = NOW() WHERE id = :jobId",
+           nativeQuery = true)
+    int release(@Param("jobId") Long jobId, @Param("status") String status, @Param("error") String error);
+    
+    // 캠페인 실패 시 아직 시작하지 않은 나머지 작업도 FAILED 처리
+    @Modifying
+    @Query(value = "UPDATE campaign_send_jobs SET status = 'FAILED', last_error = :error, updated_at = NOW() " +
+                   "WHERE campaign_id = :campaignId AND status = 'QUEUED'",
+           nativeQuery = true)
+    int failQueuedByCampaignId(@Param("campaignId") Long campaignId, @Param("error") String error);
+    
+    // 생존 신호가 끊긴 RUNNING 작업 회수
+    @Modifying
+    @Query(value = "UPDATE campaign_send_jobs SET status = 'QUEUED', locked_by = NULL, locked_at = NULL, " +
+                   "last_error = 'stale worker reclaimed', updated_at = NOW() " +
+                   "WHERE status = 'RUNNING' AND COALESCE(heartbeat_at, locked_at) < :cutoff",
+           nativeQuery = true)
+    int requeueStale(@Param("cutoff") LocalDateTime cutoff);
+    
+    // 트랜잭션 범위 advisory lock - 회수 작업을 클러스터에서 한 노드만 수행 (트랜잭션 종료 시 자동 해제)
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryLock(@Param("key") long key);
+    
+    @Query("SELECT MIN(j.virtualStart) FROM CampaignSendJob j " +
+           "WHERE j.status = com.kt.campaign.entity.CampaignSendJob.Status.QUEUED")
+    Double findMinQueuedVirtualStart();
+    
+    @Query("SELECT j.campaignId, COUNT(j) FROM CampaignSendJob j " +
+           "WHERE j.status = com.kt.campaign.entity.CampaignSendJob.Status.QUEUED GROUP BY j.campaignId")
+    List<Object[]> countQueuedByCampaign();
+}
@@ -2,17 +2,81 @@ package com.kt.campaign.repository;
 
 import com.kt.campaign.entity.CampaignTarget;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface CampaignTargetRepository extends JpaRepository<CampaignTarget, Long> {
+public interface CampaignTargetRepository extends JpaRepository<CampaignTarget, Long>, CampaignTargetRepositoryCustom {
+    
+    boolean existsByCampaignId(Long campaignId);
+    
+    @Query(value = "SELECT MIN(id) FROM campaign_targets WHERE campaign_id = :campaignId AND delivery_status = 'PENDING'",
+           nativeQuery = true)
+    Long findMinPendingIdByCampaignId(@Param("campaignId") Long campaignId);
+    
+    // 청크 발송용 대상자 id 범위
+    @Query("SELECT MIN(ct.id) FROM CampaignTarget ct WHERE ct.campaign.id = :campaignId")
+    Long findMinIdByCampaignId(@Param("campaignId") Long campaignId);
+    
+    @Query("SELECT MAX(ct.id) FROM CampaignTarget ct WHERE ct.campaign.id = :campaignId")
+    Long findMaxIdByCampaignId(@Param("campaignId") Long campaignId);
+    
+    // id 범위 내 대기 대상자의 발송 정보 (대상자 id, 수신 번호, 이름, 시군구) - 엔티티 로딩 없음
+    @Query(value = "SELECT ct.id, c.phone, c.name, c.sigungu FROM campaign_targets ct JOIN customers c ON c.id = ct.customer_id " +
+                   "WHERE ct.campaign_id = :campaignId AND ct.id BETWEEN :fromId AND :toId " +
+                   "AND ct.delivery_status = 'PENDING' ORDER BY ct.id",
+           nativeQuery = true)
+    List<Object[]> findPendingRecipientsInRange(@Param("campaignId") Long campaignId,
+                                                @Param("fromId") Long fromId,
+                                                @Param("toId") Long toId);
+    
+    // 빈도 제한 카운터 기록용 캠페인 대상 고객 id
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT ct.customer.id FROM CampaignTarget ct WHERE ct.campaign.id = :campaignId")
+    Stream<Long> streamCustomerIdsByCampaignId(@Param("campaignId") Long campaignId);
+    
+    // 빈도 제한 카운터 재구성용 최근 수신 이력 [고객 id, epoch 시간] - 대기 중인 대상자는 현재 시간으로
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "10000"))
+    @Query(value = "SELECT ct.customer_id, FLOOR(EXTRACT(EPOCH FROM COALESCE(ct.sent_at, NOW())) / 3600) " +
+                   "FROM campaign_targets ct " +
+                   "WHERE ct.sent_at >= NOW() - make_interval(hours => :hours) OR ct.delivery_status = 'PENDING'",
+           nativeQuery = true)
+    Stream<Object[]> streamRecentContacts(@Param("hours") int hours);
     
-    List<CampaignTarget> findByCampaignId(Long campaignId);
+    // 게이트웨이 배치 결과 일괄 반영 (대기 상태인 대상자만)
+    @Modifying
+    @Query(value = "UPDATE campaign_targets SET delivery_status = 'DELIVERED', sent_at = :sentAt " +
+                   "WHERE id IN (:ids) AND delivery_status = 'PENDING'",
+           nativeQuery = true)
+    int markDelivered(@Param("ids") List<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+    
+    @Modifying
+    @Query(value = "UPDATE campaign_targets SET delivery_status = 'FAILED' " +
+                   "WHERE id IN (:ids) AND delivery_status = 'PENDING'",
+           nativeQuery = true)
+    int markFailed(@Param("ids") List<Long> ids);
+    
+    // 캠페인 실패 시 남은 대기 대상자 일괄 FAILED (이후 도착한 게이트웨이 응답은 반영되지 않음)
+    @Modifying
+    @Query(value = "UPDATE campaign_targets SET delivery_status = 'FAILED' " +
+                   "WHERE campaign_id = :campaignId AND delivery_status = 'PENDING'",
+           nativeQuery = true)
+    int failPendingByCampaignId(@Param("campaignId") Long campaignId);
+    
+    @Query(value = "SELECT COUNT(*) FROM campaign_targets WHERE campaign_id = :campaignId AND delivery_status = 'DELIVERED'",
+           nativeQuery = true)
+    long countDeliveredByCampaignId(@Param("campaignId") Long campaignId);
     
     @Query("SELECT COUNT(ct) FROM CampaignTarget ct WHERE ct.campaign.id = :campaignId AND ct.sentAt IS NOT NULL")
     long countSentByCampaignId(@Param("campaignId") Long campaignId);
@@ -23,6 +87,12 @@ public interface CampaignTargetRepository extends JpaRepository<CampaignTarget,
     @Query("SELECT COUNT(ct) FROM CampaignTarget ct WHERE ct.campaign.id = :campaignId AND ct.clickAt IS NOT NULL")
     long countClickByCampaignId(@Param("campaignId") Long campaignId);
     
+    // 캠페인별 [campaign_id, 발송, 읽음, 클릭] 수 (대상자가 없는 캠페인은 결과에 없음)
+    @Query(value = "SELECT campaign_id, COUNT(sent_at), COUNT(read_at), COUNT(click_at) " +
+                   "FROM campaign_targets WHERE campaign_id IN (:campaignIds) GROUP BY campaign_id",
+           nativeQuery = true)
+    List<Object[]> countEventsByCampaignIds(@Param("campaignIds") Collection<Long> campaignIds);
+    
     @Query("SELECT ct FROM CampaignTarget ct WHERE ct.campaign.user.id = :userId AND ct.sentAt >= :startTime")
     List<CampaignTarget> findByUserIdAndSentAtAfter(@Param("userId") Long userId,
                                                    @Param("startTime") LocalDateTime startTime);
@@ -30,43 +100,4 @@ public interface CampaignTargetRepository extends JpaRepository<CampaignTarget,
     @Query("SELECT ct FROM CampaignTarget ct LEFT JOIN FETCH ct.campaign c LEFT JOIN FETCH c.user " +
            "WHERE ct.customer.id = :customerId ORDER BY ct.sentAt DESC")
     List<CampaignTarget> findByCustomerIdOrderBySentAtDesc(@Param("customerId") Long customerId);
-    
-    @Query(value = "SELECT " +
-                   "CASE " +
-                   "WHEN (2024 - c.birth_year) < 30 THEN '20대' " +
-                   "WHEN (2024 - c.birth_year) < 40 THEN '30대' " +
-                   "WHEN (2024 - c.birth_year) < 50 THEN '40대' " +
-                   "WHEN (2024 - c.birth_year) < 60 THEN '50대' " +
-                   "ELSE '60대' " +
-                   "END as age_group, " +
-                   "CASE " +
-                   "WHEN c.gender = 'M' THEN '남성' " +
-                   "WHEN c.gender = 'F' THEN '여성' " +
-                   "ELSE c.gender " +
-                   "END as gender, " +
-                   "COUNT(*) as count " +
-                   "FROM campaign_targets ct " +
-                   "JOIN customers c ON ct.customer_id = c.id " +
-                   "JOIN campaigns camp ON ct.campaign_id = camp.id " +
-                   "WHERE camp.user_id = :userId AND camp.status = 'COMPLETED' " +
-                   "GROUP BY age_group, gender " +
-                   "ORDER BY age_group, gender", 
-           nativeQuery = true)
-    List<Object[]> getAgeGenderDistributionByUserId(@Param("userId") Long userId);
-    
-    // 시간별 통계를 위한 메서드들
-    @Query("SELECT HOUR(ct.sentAt) as hour, COUNT(ct) as count FROM CampaignTarget ct " +
-           "WHERE ct.campaign.id = :campaignId AND ct.sentAt IS NOT NULL " +
-           "GROUP BY HOUR(ct.sentAt) ORDER BY hour")
-    List<Object[]> findHourlySentStatsByCampaignId(@Param("campaignId") Long campaignId);
-    
-    @Query("SELECT HOUR(ct.readAt) as hour, COUNT(ct) as count FROM CampaignTarget ct " +
-           "WHERE ct.campaign.id = :campaignId AND ct.readAt IS NOT NULL " +
-           "GROUP BY HOUR(ct.readAt) ORDER BY hour")
-    List<Object[]> findHourlyReadStatsByCampaignId(@Param("campaignId") Long campaignId);
-    
-    @Query("SELECT HOUR(ct.clickAt) as hour, COUNT(ct) as count FROM CampaignTarget ct " +
-           "WHERE ct.campaign.id = :campaignId AND ct.clickAt IS NOT NULL " +
-           "GROUP BY HOUR(ct.clickAt) ORDER BY hour")
-    List<Object[]> findHourlyClickStatsByCampaignId(@Param("campaignId") Long campaignId);
 }
@@ -0,0 +1,19 @@
+package com.kt.campaign.repository;
+
+import com.kt.campaign.entity.CampaignFilter;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * 캠페인 대상자 집합 연산 쿼리
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+public interface CampaignTargetRepositoryCustom {
+
+    /**
+     * 필터에 맞는 고객을 id 순으로 최대 limit 명까지 대상자(PENDING)로 생성
+     * INSERT ... SELECT 한 문장으로 DB 안에서 처리하며, 생성된 행 수를 반환합니다.
+     * excluded 에 포함된 고객(빈도 제한 도달 등)은 대상자에서 제외합니다.
+     */
+    int insertTargets(Long campaignId, CampaignFilter filter, RoaringBitmap excluded, int limit);
+}
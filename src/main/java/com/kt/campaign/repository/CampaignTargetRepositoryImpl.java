@@ -0,0 +1,35 @@
+package com.kt.campaign.repository;
+
+import com.kt.campaign.entity.CampaignFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * CampaignTargetRepositoryCustom 구현
+ *
+ * 고객 행을 애플리케이션으로 가져오지 않고 CustomerQueryBuilder 조건으로
+ * campaign_targets 에 직접 INSERT ... SELECT 합니다.
+ * 빈도 제한에 걸린 고객은 같은 문장에서 제외합니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+public class CampaignTargetRepositoryImpl implements CampaignTargetRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int insertTargets(Long campaignId, CampaignFilter filter, RoaringBitmap excluded, int limit) {
+        CustomerQueryBuilder builder = CustomerQueryBuilder.of(filter).excluding(excluded);
+        String sql = "INSERT INTO campaign_targets (campaign_id, customer_id, delivery_status) "
+            + builder.select("CAST(:campaignId AS BIGINT), c.id, 'PENDING'")
+            + " ORDER BY c.id ASC LIMIT :limit";
+        Query query = entityManager.createNativeQuery(sql);
+        builder.params().forEach(query::setParameter);
+        query.setParameter("campaignId", campaignId);
+        query.setParameter("limit", limit);
+        return query.executeUpdate();
+    }
+}
@@ -0,0 +1,45 @@
+package com.kt.campaign.repository;
+
+import com.kt.campaign.entity.CampaignFilter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+
+/**
+ * 고객 대량 내보내기용 JDBC 커서 조회
+ *
+ * 엔티티(geom 포함)를 만들지 않고 필요한 컬럼만 전진 전용 커서로 읽어 행 단위 콜백으로 넘깁니다.
+ * PostgreSQL 은 자동 커밋이 꺼진 트랜잭션 안에서만 fetch size 만큼 나누어 가져오므로
+ * 읽기 전용 트랜잭션 안에서 실행합니다. 메모리 사용량은 fetch size 에만 비례합니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Repository
+public class CustomerExportRepository {
+
+    private static final int FETCH_SIZE = 5000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public CustomerExportRepository(DataSource dataSource) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+
+    /**
+     * 조건에 맞는 고객을 id 순으로 스트리밍
+     * 컬럼 순서: id, gender, birth_year, sido, sigungu, lat, lng
+     */
+    @Transactional(readOnly = true)
+    public void streamFiltered(CampaignFilter filter, RowCallbackHandler handler) {
+        CustomerQueryBuilder builder = CustomerQueryBuilder.of(filter);
+        String sql = builder.select("c.id, c.gender, c.birth_year, c.sido, c.sigungu, c.lat, c.lng")
+            + " ORDER BY c.id ASC";
+        jdbcTemplate.query(sql, builder.params(), handler);
+    }
+}
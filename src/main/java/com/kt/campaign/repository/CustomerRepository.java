@@ -1,71 +1,30 @@
 package com.kt.campaign.repository;
 
 import com.kt.campaign.entity.Customer;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
-    
-    @Query("SELECT c FROM Customer c WHERE " +
-           "(:gender IS NULL OR c.gender = :gender) AND " +
-           "(:sido IS NULL OR c.sido = :sido) AND " +
-           "(:sigungu IS NULL OR c.sigungu = :sigungu) AND " +
-           "(:ageFrom IS NULL OR (2024 - c.birthYear) >= :ageFrom) AND " +
-           "(:ageTo IS NULL OR (2024 - c.birthYear) <= :ageTo) " +
-           "ORDER BY c.id ASC")
-    Page<Customer> findByFilters(@Param("gender") String gender,
-                                @Param("sido") String sido,
-                                @Param("sigungu") String sigungu,
-                                @Param("ageFrom") Integer ageFrom,
-                                @Param("ageTo") Integer ageTo,
-                                Pageable pageable);
-    
-    @Query(value = "SELECT COUNT(*) FROM customers c WHERE " +
-                   "(:gender IS NULL OR c.gender = :gender) AND " +
-                   "(:sido IS NULL OR c.sido = :sido) AND " +
-                   "(:sigungu IS NULL OR c.sigungu = :sigungu) AND " +
-                   "(:ageFrom IS NULL OR (2024 - c.birth_year) >= :ageFrom) AND " +
-                   "(:ageTo IS NULL OR (2024 - c.birth_year) <= :ageTo) AND " +
-                   "(:centerLat IS NULL OR :centerLng IS NULL OR :radiusMeters IS NULL OR " +
-                   "ST_DWithin(c.geom, CAST(ST_SetSRID(ST_MakePoint(:centerLng, :centerLat), 4326) AS geography), :radiusMeters))",
-           nativeQuery = true)
-    long countByFiltersWithRadius(@Param("gender") String gender,
-                                 @Param("sido") String sido,
-                                 @Param("sigungu") String sigungu,
-                                 @Param("ageFrom") Integer ageFrom,
-                                 @Param("ageTo") Integer ageTo,
-                                 @Param("centerLat") Double centerLat,
-                                 @Param("centerLng") Double centerLng,
-                                 @Param("radiusMeters") Integer radiusMeters);
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerRepositoryCustom {
     
-    @Query(value = "SELECT c.* FROM customers c WHERE " +
-                   "(:gender IS NULL OR c.gender = :gender) AND " +
-                   "(:sido IS NULL OR c.sido = :sido) AND " +
-                   "(:sigungu IS NULL OR c.sigungu = :sigungu) AND " +
-                   "(:ageFrom IS NULL OR (2024 - c.birth_year) >= :ageFrom) AND " +
-                   "(:ageTo IS NULL OR (2024 - c.birth_year) <= :ageTo) AND " +
-                   "(:centerLat IS NULL OR :centerLng IS NULL OR :radiusMeters IS NULL OR " +
-                   "ST_DWithin(c.geom, CAST(ST_SetSRID(ST_MakePoint(:centerLng, :centerLat), 4326) AS geography), :radiusMeters))",
+    // 통계 기반 전체 고객 수 추정치 (COUNT 스캔 없음)
+    @Query(value = "SELECT GREATEST(reltuples, 0)::bigint FROM pg_class WHERE oid = 'customers'::regclass",
            nativeQuery = true)
-    java.util.List<Customer> findByFiltersWithRadius(@Param("gender") String gender,
-                                                    @Param("sido") String sido,
-                                                    @Param("sigungu") String sigungu,
-                                                    @Param("ageFrom") Integer ageFrom,
-                                                    @Param("ageTo") Integer ageTo,
-                                                    @Param("centerLat") Double centerLat,
-                                                    @Param("centerLng") Double centerLng,
-                                                    @Param("radiusMeters") Integer radiusMeters);
+    long estimateTotalCount();
     
     @Query(value = "SELECT " +
                    "CASE " +
-                   "WHEN (2024 - birth_year) < 30 THEN '20대' " +
-                   "WHEN (2024 - birth_year) < 40 THEN '30대' " +
-                   "WHEN (2024 - birth_year) < 50 THEN '40대' " +
+                   "WHEN (EXTRACT(YEAR FROM CURRENT_DATE) - birth_year) < 30 THEN '20대' " +
+                   "WHEN (EXTRACT(YEAR FROM CURRENT_DATE) - birth_year) < 40 THEN '30대' " +
+                   "WHEN (EXTRACT(YEAR FROM CURRENT_DATE) - birth_year) < 50 THEN '40대' " +
                    "ELSE '50대+' " +
                    "END as age_group, " +
                    "COUNT(*) as count " +
@@ -74,4 +33,22 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
                    "ORDER BY age_group", 
            nativeQuery = true)
     java.util.List<Object[]> getAgeDistribution();
+    
+    // 비트맵 인덱스/표본 적재용 속성 프로젝션 (엔티티/geom 로딩 없이 스트리밍)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT c.id, c.gender, c.sido, c.sigungu, c.birthYear, c.lat, c.lng FROM Customer c ORDER BY c.id ASC")
+    Stream<Object[]> streamAudienceAttributes();
+    
+    // 공간 인덱스 적재용 좌표 프로젝션
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT c.id, c.lat, c.lng FROM Customer c WHERE c.lat IS NOT NULL AND c.lng IS NOT NULL ORDER BY c.id ASC")
+    Stream<Object[]> streamCoordinates();
+    
+    // 반경 조건만 GIST 인덱스로 평가하여 고객 ID 반환
+    @Query(value = "SELECT c.id FROM customers c WHERE " +
+                   "ST_DWithin(c.geom, CAST(ST_SetSRID(ST_MakePoint(:centerLng, :centerLat), 4326) AS geography), :radiusMeters)",
+           nativeQuery = true)
+    java.util.List<Long> findIdsWithinRadius(@Param("centerLat") Double centerLat,
+                                            @Param("centerLng") Double centerLng,
+                                            @Param("radiusMeters") Integer radiusMeters);
 }
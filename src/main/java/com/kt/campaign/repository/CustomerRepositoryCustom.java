@@ -0,0 +1,34 @@
+package com.kt.campaign.repository;
+
+import com.kt.campaign.entity.CampaignFilter;
+import com.kt.campaign.entity.Customer;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * 필터 조건 동적 쿼리 (CustomerQueryBuilder 기반)
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+public interface CustomerRepositoryCustom {
+
+    /**
+     * 조건에 맞는 고객 페이지 조회 (id 순)
+     */
+    Page<Customer> findByFilter(CampaignFilter filter, Pageable pageable);
+
+    /**
+     * 키셋 페이지네이션: after 보다 큰 id 부터 limit 건 (OFFSET/COUNT 없음)
+     */
+    List<Customer> findByFilterAfter(CampaignFilter filter, Long after, int limit);
+
+    long countByFilter(CampaignFilter filter);
+
+    /**
+     * 조건에 맞는 고객 중 customerIds 에 포함된 고객 수 (기본 키로 지정 id 만 조회)
+     */
+    long countByFilterWithin(CampaignFilter filter, RoaringBitmap customerIds);
+}
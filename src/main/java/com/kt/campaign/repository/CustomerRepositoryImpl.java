@@ -0,0 +1,68 @@
+package com.kt.campaign.repository;
+
+import com.kt.campaign.entity.CampaignFilter;
+import com.kt.campaign.entity.Customer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * CustomerRepositoryCustom 구현 - CustomerQueryBuilder 로 만든 네이티브 쿼리 실행
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+public class CustomerRepositoryImpl implements CustomerRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Customer> findByFilter(CampaignFilter filter, Pageable pageable) {
+        CustomerQueryBuilder builder = CustomerQueryBuilder.of(filter);
+        Query query = entityManager.createNativeQuery(builder.select("c.*") + " ORDER BY c.id ASC", Customer.class);
+        bind(query, builder);
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+        return new PageImpl<>(resultList(query), pageable, countByFilter(filter));
+    }
+
+    @Override
+    public List<Customer> findByFilterAfter(CampaignFilter filter, Long after, int limit) {
+        CustomerQueryBuilder builder = CustomerQueryBuilder.of(filter).after(after);
+        Query query = entityManager.createNativeQuery(builder.select("c.*") + " ORDER BY c.id ASC", Customer.class);
+        bind(query, builder);
+        query.setMaxResults(limit);
+        return resultList(query);
+    }
+
+    @Override
+    public long countByFilter(CampaignFilter filter) {
+        CustomerQueryBuilder builder = CustomerQueryBuilder.of(filter);
+        Query query = entityManager.createNativeQuery(builder.count());
+        bind(query, builder);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    @Override
+    public long countByFilterWithin(CampaignFilter filter, RoaringBitmap customerIds) {
+        CustomerQueryBuilder builder = CustomerQueryBuilder.of(filter).within(customerIds);
+        Query query = entityManager.createNativeQuery(builder.count());
+        bind(query, builder);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    private static void bind(Query query, CustomerQueryBuilder builder) {
+        builder.params().forEach(query::setParameter);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Customer> resultList(Query query) {
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,101 @@
+package com.kt.campaign.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 연령대 × 성별 대상자 분포(campaign_demographics, user_demographics) 갱신/조회
+ *
+ * 캠페인 분포는 대상자 생성 직후 그 캠페인의 대상자만 한 번 집계하여 기록하고,
+ * 사용자 분포는 캠페인 완료 시 캠페인 분포를 더합니다. 조회는 (연령대, 성별) 칸 수만큼의 행만 읽습니다.
+ * 연령대는 기록 시점 나이 기준이며 20 미만은 20, 60 이상과 출생연도 미상은 60 으로 묶습니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Repository
+public class DemographicCubeRepository {
+
+    private static final String AGE_BAND =
+        "COALESCE(LEAST(GREATEST((CAST(EXTRACT(YEAR FROM CURRENT_DATE) AS INT) - c.birth_year) / 10 * 10, 20), 60), 60)";
+
+    // 대상자 행을 (캠페인, 연령대, 성별) 별로 집계 - {0}: 추가 조건
+    private static final String AGGREGATE_TARGETS =
+        "INSERT INTO campaign_demographics (campaign_id, age_band, gender, target_count) " +
+        "SELECT ct.campaign_id, " + AGE_BAND + ", COALESCE(c.gender, ''), COUNT(*) " +
+        "FROM campaign_targets ct JOIN customers c ON c.id = ct.customer_id {0} " +
+        "GROUP BY ct.campaign_id, " + AGE_BAND + ", COALESCE(c.gender, '') ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Cell(int ageBand, String gender, long count) {
+    }
+
+    public DemographicCubeRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * 대상자 생성 직후 캠페인 분포 기록 (호출 측 트랜잭션에 참여, 이미 있으면 유지)
+     */
+    public int addCampaign(long campaignId) {
+        return jdbcTemplate.update(
+            AGGREGATE_TARGETS.replace("{0}", "WHERE ct.campaign_id = ?") + "ON CONFLICT DO NOTHING",
+            campaignId);
+    }
+
+    /**
+     * 캠페인 완료 시 캠페인 분포를 소유 사용자 분포에 더함 (호출 측 트랜잭션에 참여)
+     */
+    public int addCampaignToUser(long campaignId) {
+        return jdbcTemplate.update(
+            "INSERT INTO user_demographics (user_id, age_band, gender, target_count) " +
+            "SELECT camp.user_id, d.age_band, d.gender, d.target_count " +
+            "FROM campaign_demographics d JOIN campaigns camp ON camp.id = d.campaign_id " +
+            "WHERE d.campaign_id = ? " +
+            "ON CONFLICT (user_id, age_band, gender) " +
+            "DO UPDATE SET target_count = user_demographics.target_count + EXCLUDED.target_count",
+            campaignId);
+    }
+
+    public List<Cell> findByUserId(long userId) {
+        return jdbcTemplate.query(
+            "SELECT age_band, gender, target_count FROM user_demographics WHERE user_id = ?",
+            (rs, rowNum) -> new Cell(rs.getInt(1), rs.getString(2), rs.getLong(3)),
+            userId);
+    }
+
+    public List<Cell> findByCampaignId(long campaignId) {
+        return jdbcTemplate.query(
+            "SELECT age_band, gender, target_count FROM campaign_demographics WHERE campaign_id = ?",
+            (rs, rowNum) -> new Cell(rs.getInt(1), rs.getString(2), rs.getLong(3)),
+            campaignId);
+    }
+
+    public boolean isEmpty() {
+        return !Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM campaign_demographics)", Boolean.class));
+    }
+
+    /**
+     * 원본 대상자로 두 분포 모두 재계산, 기록한 캠페인 분포 행 수 반환
+     * 두 테이블을 EXCLUSIVE 로 잠가 재계산 중의 증분 기록을 대기시킵니다.
+     */
+    @Transactional
+    public int rebuild() {
+        jdbcTemplate.execute("LOCK TABLE campaign_demographics, user_demographics IN EXCLUSIVE MODE");
+        jdbcTemplate.update("DELETE FROM user_demographics");
+        jdbcTemplate.update("DELETE FROM campaign_demographics");
+        int rows = jdbcTemplate.update(AGGREGATE_TARGETS.replace("{0}", ""));
+        jdbcTemplate.update(
+            "INSERT INTO user_demographics (user_id, age_band, gender, target_count) " +
+            "SELECT camp.user_id, d.age_band, d.gender, SUM(d.target_count) " +
+            "FROM campaign_demographics d JOIN campaigns camp ON camp.id = d.campaign_id " +
+            "WHERE camp.status = 'COMPLETED' " +
+            "GROUP BY camp.user_id, d.age_band, d.gender");
+        return rows;
+    }
+}
@@ -0,0 +1,104 @@
+package com.kt.campaign.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * 읽음/클릭 이벤트 일괄 반영
+ *
+ * 이벤트 묶음을 UPDATE ... FROM (VALUES ...) 한 문장으로 반영합니다.
+ * 같은 대상자의 이벤트는 대상자별로 모아 가장 이른 시각만 사용하고,
+ * 이미 기록된 read_at/click_at 은 덮어쓰지 않습니다 (클릭은 읽음도 함께 기록).
+ * 캠페인 id 가 있는 이벤트(추적 토큰)는 대상자의 캠페인까지 일치해야 반영됩니다.
+ * 이벤트 로그 재생(rebuildBatch)은 기록된 값과 비교해 더 이른 시각으로 맞춥니다.
+ *
+ * 결과는 캠페인별로 갱신 행 수와 새로 읽음/클릭이 된 행 수입니다 (실시간 카운터 반영용).
+ * 새로 읽음/클릭이 된 행은 같은 문장에서 campaign_hourly_stats 에 시간 구간별로 더합니다.
+ * 재생으로 기존 시각이 앞당겨진 행의 구간 이동은 재생 후 집계 재계산으로 맞춥니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Repository
+public class TrackingEventRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 캠페인별 반영 결과 - updated: 갱신 행 수, read/click: 값이 비어 있다가 새로 채워진 행 수
+     */
+    public record CampaignDelta(long campaignId, long updated, long read, long click) {
+    }
+
+    public TrackingEventRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * 앞에서부터 count 개 이벤트 반영 - campaignIds 0 은 캠페인 미확인, 시각 null 은 해당 이벤트 없음
+     */
+    public List<CampaignDelta> applyBatch(long[] targetIds, long[] campaignIds, Timestamp[] readAts, Timestamp[] clickAts, int count) {
+        return update(targetIds, campaignIds, readAts, clickAts, count,
+            "read_at = COALESCE(ct.read_at, v.read_at, v.click_at), click_at = COALESCE(ct.click_at, v.click_at) ",
+            "AND (ct.read_at IS NULL OR (ct.click_at IS NULL AND v.click_at IS NOT NULL)) ");
+    }
+
+    /**
+     * 이벤트 로그 재생용 반영 - 이미 기록된 값보다 이른 시각이면 앞당김 (LEAST 는 NULL 을 무시)
+     */
+    public List<CampaignDelta> rebuildBatch(long[] targetIds, long[] campaignIds, Timestamp[] readAts, Timestamp[] clickAts, int count) {
+        return update(targetIds, campaignIds, readAts, clickAts, count,
+            "read_at = LEAST(ct.read_at, v.read_at, v.click_at), click_at = LEAST(ct.click_at, v.click_at) ",
+            "");
+    }
+
+    private List<CampaignDelta> update(long[] targetIds, long[] campaignIds, Timestamp[] readAts, Timestamp[] clickAts, int count,
+                       String assignments, String condition) {
+        if (count == 0) {
+            return List.of();
+        }
+        StringBuilder sql = new StringBuilder(768 + count * 96)
+            .append("WITH v AS (SELECT id, MAX(campaign_id) AS campaign_id, MIN(read_at) AS read_at, MIN(click_at) AS click_at ")
+            .append("FROM (VALUES ");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP))");
+        }
+        // old: 같은 행의 갱신 전 값 (새로 채워진 읽음/클릭 판별)
+        sql.append(") AS e(id, campaign_id, read_at, click_at) GROUP BY id), ")
+            .append("u AS (UPDATE campaign_targets ct SET ")
+            .append(assignments)
+            .append("FROM v, campaign_targets old ")
+            .append("WHERE ct.id = v.id AND old.id = ct.id AND (v.campaign_id = 0 OR ct.campaign_id = v.campaign_id) ")
+            .append(condition)
+            .append("RETURNING ct.campaign_id, ct.read_at, ct.click_at, ")
+            .append("(old.read_at IS NULL AND ct.read_at IS NOT NULL) AS new_read, ")
+            .append("(old.click_at IS NULL AND ct.click_at IS NOT NULL) AS new_click), ")
+            // 새 읽음/클릭을 시간 구간별 집계에 증분 UPSERT (같은 문장, 같은 트랜잭션)
+            .append("h AS (INSERT INTO campaign_hourly_stats (campaign_id, hour_bucket, sent_count, read_count, click_count) ")
+            .append("SELECT campaign_id, bucket, 0, SUM(r), SUM(c) FROM (")
+            .append("SELECT campaign_id, date_trunc('hour', read_at) AS bucket, 1 AS r, 0 AS c FROM u WHERE new_read ")
+            .append("UNION ALL SELECT campaign_id, date_trunc('hour', click_at), 0, 1 FROM u WHERE new_click")
+            .append(") n GROUP BY campaign_id, bucket ")
+            .append("ON CONFLICT (campaign_id, hour_bucket) DO UPDATE SET ")
+            .append("read_count = campaign_hourly_stats.read_count + EXCLUDED.read_count, ")
+            .append("click_count = campaign_hourly_stats.click_count + EXCLUDED.click_count) ")
+            .append("SELECT campaign_id, COUNT(*), COUNT(*) FILTER (WHERE new_read), COUNT(*) FILTER (WHERE new_click) ")
+            .append("FROM u GROUP BY campaign_id");
+
+        return jdbcTemplate.query(sql.toString(), ps -> {
+            int parameter = 1;
+            for (int i = 0; i < count; i++) {
+                ps.setLong(parameter++, targetIds[i]);
+                ps.setLong(parameter++, campaignIds[i]);
+                ps.setTimestamp(parameter++, readAts[i]);
+                ps.setTimestamp(parameter++, clickAts[i]);
+            }
+        }, (rs, rowNum) -> new CampaignDelta(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)));
+    }
+}
@@ -0,0 +1,256 @@
+package com.kt.campaign.service;
+
+import com.kt.campaign.entity.CampaignFilter;
+import com.kt.campaign.repository.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * 캠페인 미리보기용 인메모리 고객 속성 비트맵 인덱스
+ *
+ * 성별, 시도, 시군구, 출생연도 값마다 해당 고객 ID 집합을 압축 비트맵(RoaringBitmap)으로 보관합니다.
+ * 미리보기 요청의 비반경 조건은 비트맵 교집합으로 계산하므로 customers 테이블 전체 스캔이 필요 없습니다.
+ *
+ * 동기화 방식:
+ * - 애플리케이션 기동 완료 시 customers 테이블의 속성 컬럼만 스트리밍하여 적재
+ * - 관리자 고객 생성/수정/삭제 이벤트(CustomerChangedEvent) 수신 시 해당 고객만 갱신
+ * - 적재 전에는 ready 상태가 아니므로 호출 측은 기존 SQL 경로를 사용
+ *
+ * 고객 ID는 비트맵 특성상 int 범위를 사용합니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Component
+@RequiredArgsConstructor
+public class AudienceIndex {
+
+    private final CustomerRepository customerRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> byGender = new HashMap<>();
+    private final Map<String, RoaringBitmap> bySido = new HashMap<>();
+    private final Map<String, RoaringBitmap> bySigungu = new HashMap<>();
+    private final NavigableMap<Integer, RoaringBitmap> byBirthYear = new TreeMap<>();
+
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            clear();
+            try (Stream<Object[]> rows = customerRepository.streamAudienceAttributes()) {
+                rows.forEach(row -> add(
+                    toIndexId((Long) row[0]),
+                    (String) row[1],
+                    (String) row[2],
+                    (String) row[3],
+                    (Integer) row[4]
+                ));
+            }
+            optimize();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("Audience index loaded: " + all.getCardinality() + " customers in "
+            + (System.currentTimeMillis() - started) + "ms");
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 고객 생성/수정/삭제 반영 - 기존 소속 비트맵에서 제거 후 현재 속성으로 다시 추가
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        int id = toIndexId(event.customerId());
+        lock.writeLock().lock();
+        try {
+            removeFromAll(id);
+            CustomerChangedEvent.Snapshot customer = event.after();
+            if (!event.isDeleted()) {
+                add(id, customer.gender(), customer.sido(), customer.sigungu(), customer.birthYear());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 비반경 조건(성별, 시도, 시군구, 나이)에 맞는 고객 ID 비트맵 계산 (반경 조건은 무시)
+     * null 조건은 적용하지 않으며, 반환값은 호출 측이 자유롭게 수정할 수 있는 사본입니다.
+     */
+    public RoaringBitmap match(CampaignFilter filter) {
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> conditions = new ArrayList<>(4);
+            if (filter.gender() != null) {
+                conditions.add(byGender.getOrDefault(filter.gender(), new RoaringBitmap()));
+            }
+            if (filter.sido() != null) {
+                conditions.add(bySido.getOrDefault(filter.sido(), new RoaringBitmap()));
+            }
+            if (filter.sigungu() != null) {
+                conditions.add(bySigungu.getOrDefault(filter.sigungu(), new RoaringBitmap()));
+            }
+            if (filter.hasAgeRange()) {
+                conditions.add(birthYearRange(filter));
+            }
+
+            if (conditions.isEmpty()) {
+                return all.clone();
+            }
+            if (conditions.size() == 1) {
+                return conditions.get(0).clone();
+            }
+            return FastAggregation.and(conditions.iterator());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * customerIds 중 비반경 조건에 맞는 고객 ID (빈도 제한 도달 고객 등 작은 집합용)
+     * 전체 조건 비트맵을 만들지 않고 customerIds 를 조건별로 좁혀 가므로 비용은 customerIds 크기에 비례합니다.
+     */
+    public RoaringBitmap matchWithin(CampaignFilter filter, RoaringBitmap customerIds) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = RoaringBitmap.and(customerIds, all);
+            if (filter.gender() != null) {
+                result.and(byGender.getOrDefault(filter.gender(), new RoaringBitmap()));
+            }
+            if (filter.sido() != null) {
+                result.and(bySido.getOrDefault(filter.sido(), new RoaringBitmap()));
+            }
+            if (filter.sigungu() != null) {
+                result.and(bySigungu.getOrDefault(filter.sigungu(), new RoaringBitmap()));
+            }
+            if (filter.hasAgeRange()) {
+                int fromYear = filter.minBirthYear() != null ? filter.minBirthYear() : Integer.MIN_VALUE;
+                int toYear = filter.maxBirthYear() != null ? filter.maxBirthYear() : Integer.MAX_VALUE;
+                RoaringBitmap inRange = new RoaringBitmap();
+                if (fromYear <= toYear) {
+                    for (RoaringBitmap year : byBirthYear.subMap(fromYear, true, toYear, true).values()) {
+                        inRange.or(RoaringBitmap.and(result, year));
+                    }
+                }
+                result = inRange;
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 목록 조회용 전체 건수 추정 (COUNT 쿼리 없음)
+     * 인덱스 적재 후에는 비트맵 교집합 크기, 적재 전에는 조건이 없을 때만 테이블 통계값, 그 외 null
+     */
+    public Long estimateCount(CampaignFilter filter) {
+        if (ready) {
+            return (long) match(filter).getCardinality();
+        }
+        if (filter.gender() == null && filter.sido() == null && filter.sigungu() == null && !filter.hasAgeRange()) {
+            return customerRepository.estimateTotalCount();
+        }
+        return null;
+    }
+
+    /**
+     * 외부에서 계산된 고객 ID 목록(예: PostGIS 반경 조회 결과)을 비트맵으로 변환
+     */
+    public static RoaringBitmap toBitmap(Collection<Long> customerIds) {
+        RoaringBitmap ids = new RoaringBitmap();
+        for (Long customerId : customerIds) {
+            ids.add(toIndexId(customerId));
+        }
+        return ids;
+    }
+
+    // 나이 조건은 CustomerQueryBuilder 와 같은 올해 기준 출생연도 범위
+    private RoaringBitmap birthYearRange(CampaignFilter filter) {
+        int fromYear = filter.minBirthYear() != null ? filter.minBirthYear() : Integer.MIN_VALUE;
+        int toYear = filter.maxBirthYear() != null ? filter.maxBirthYear() : Integer.MAX_VALUE;
+        if (fromYear > toYear) {
+            return new RoaringBitmap();
+        }
+        Collection<RoaringBitmap> years = byBirthYear.subMap(fromYear, true, toYear, true).values();
+        if (years.isEmpty()) {
+            return new RoaringBitmap();
+        }
+        return FastAggregation.or(years.iterator());
+    }
+
+    private void add(int id, String gender, String sido, String sigungu, Integer birthYear) {
+        all.add(id);
+        if (gender != null) {
+            byGender.computeIfAbsent(gender, k -> new RoaringBitmap()).add(id);
+        }
+        if (sido != null) {
+            bySido.computeIfAbsent(sido, k -> new RoaringBitmap()).add(id);
+        }
+        if (sigungu != null) {
+            bySigungu.computeIfAbsent(sigungu, k -> new RoaringBitmap()).add(id);
+        }
+        if (birthYear != null) {
+            byBirthYear.computeIfAbsent(birthYear, k -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    private void removeFromAll(int id) {
+        if (!all.contains(id)) {
+            return;
+        }
+        all.remove(id);
+        byGender.values().forEach(bitmap -> bitmap.remove(id));
+        bySido.values().forEach(bitmap -> bitmap.remove(id));
+        bySigungu.values().forEach(bitmap -> bitmap.remove(id));
+        byBirthYear.values().forEach(bitmap -> bitmap.remove(id));
+    }
+
+    private void optimize() {
+        all.runOptimize();
+        byGender.values().forEach(RoaringBitmap::runOptimize);
+        bySido.values().forEach(RoaringBitmap::runOptimize);
+        bySigungu.values().forEach(RoaringBitmap::runOptimize);
+        byBirthYear.values().forEach(RoaringBitmap::runOptimize);
+    }
+
+    private void clear() {
+        ready = false;
+        all.clear();
+        byGender.clear();
+        bySido.clear();
+        bySigungu.clear();
+        byBirthYear.clear();
+    }
+
+    private static int toIndexId(Long customerId) {
+        return Math.toIntExact(customerId);
+    }
+}
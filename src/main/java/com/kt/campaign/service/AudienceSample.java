@@ -0,0 +1,245 @@
+package com.kt.campaign.service;
+
+import com.kt.campaign.entity.CampaignFilter;
+import com.kt.campaign.repository.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * 근사 미리보기용 고객 표본
+ *
+ * 고객 ID 해시로 결정되는 베르누이 표본(표본률 p)을 유지합니다. 표본 크기가 약 65,536명으로
+ * 제한되므로 필터 평가 비용은 전체 고객 수와 무관하게 일정합니다.
+ * 지역/성별/연령 셀마다 같은 표본률이 적용되어 각 셀이 모집단 비율대로 표본에 포함됩니다.
+ *
+ * 추정:
+ * - 추정치 N = X / p (X: 표본 내 조건 일치 수)
+ * - 95% 신뢰구간 N ± 1.96 * sqrt(X * (1 - p)) / p
+ * - X = 0 이면 상한은 3 / p (rule of three)
+ *
+ * 표본 포함 여부는 ID 해시로만 결정되므로 관리자 고객 변경 시에도 같은 표본률로 유지됩니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Component
+@RequiredArgsConstructor
+public class AudienceSample {
+
+    private static final int TARGET_SAMPLE_SIZE = 65_536;
+    private static final double Z_95 = 1.96;
+    private static final int NULL_CODE = -1;
+    private static final int UNKNOWN_CODE = -2;
+
+    private final CustomerRepository customerRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // 성별/시도/시군구 문자열 사전 (표본은 정수 코드로 보관)
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final Map<Integer, Integer> slotById = new HashMap<>();
+    private int size = 0;
+    private int[] ids = new int[0];
+    private int[] genders = new int[0];
+    private int[] sidos = new int[0];
+    private int[] sigungus = new int[0];
+    private int[] birthYears = new int[0];
+    private float[] lats = new float[0];
+    private float[] lngs = new float[0];
+
+    // 표본 비율과 포함 기준 해시값 (lock 안에서만 읽고 씀)
+    private double rate = 1.0;
+    private long threshold = 1L << 32;
+    private volatile boolean ready = false;
+
+    public record Estimate(long recipients, long lower, long upper, int sampleMatches, int sampleSize, double sampleRate) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            codes.clear();
+            slotById.clear();
+            size = 0;
+
+            long population = customerRepository.count();
+            rate = Math.min(1.0, (double) TARGET_SAMPLE_SIZE / Math.max(1, population));
+            threshold = (long) (rate * (1L << 32));
+
+            try (Stream<Object[]> rows = customerRepository.streamAudienceAttributes()) {
+                rows.forEach(row -> {
+                    int id = Math.toIntExact((Long) row[0]);
+                    if (sampled(id)) {
+                        add(id, new CustomerChangedEvent.Snapshot(
+                            (String) row[1], (String) row[2], (String) row[3],
+                            (Integer) row[4], (Double) row[5], (Double) row[6]));
+                    }
+                });
+            }
+            ready = true;
+            System.out.println("Audience sample loaded: " + size + " of " + population + " customers (rate " + rate + ")");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        int id = Math.toIntExact(event.customerId());
+        lock.writeLock().lock();
+        try {
+            // 표본 포함 여부는 재적재 중 바뀌는 threshold 에 따르므로 잠금 안에서 판단
+            if (!sampled(id)) {
+                return;
+            }
+            remove(id);
+            if (!event.isDeleted()) {
+                add(id, event.after());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Estimate estimate(CampaignFilter filter) {
+        lock.readLock().lock();
+        try {
+            int gender = lookup(filter.gender());
+            int sido = lookup(filter.sido());
+            int sigungu = lookup(filter.sigungu());
+            int minBirthYear = filter.minBirthYear() != null ? filter.minBirthYear() : Integer.MIN_VALUE;
+            int maxBirthYear = filter.maxBirthYear() != null ? filter.maxBirthYear() : Integer.MAX_VALUE;
+
+            int matches = 0;
+            for (int i = 0; i < size; i++) {
+                if (matchesAt(i, filter, gender, sido, sigungu, minBirthYear, maxBirthYear)) {
+                    matches++;
+                }
+            }
+
+            long recipients = Math.round(matches / rate);
+            if (rate >= 1.0) {
+                return new Estimate(recipients, recipients, recipients, matches, size, rate);
+            }
+            double margin = matches > 0 ? Z_95 * Math.sqrt(matches * (1 - rate)) / rate : 3 / rate;
+            long lower = Math.max(0, (long) Math.floor(matches / rate - (matches > 0 ? margin : 0)));
+            long upper = (long) Math.ceil(matches / rate + margin);
+            return new Estimate(recipients, lower, upper, matches, size, rate);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean matchesAt(int i, CampaignFilter filter, int gender, int sido, int sigungu,
+                              int minBirthYear, int maxBirthYear) {
+        if (gender != NULL_CODE && genders[i] != gender) {
+            return false;
+        }
+        if (sido != NULL_CODE && sidos[i] != sido) {
+            return false;
+        }
+        if (sigungu != NULL_CODE && sigungus[i] != sigungu) {
+            return false;
+        }
+        if (filter.hasAgeRange()) {
+            if (birthYears[i] == Integer.MIN_VALUE || birthYears[i] < minBirthYear || birthYears[i] > maxBirthYear) {
+                return false;
+            }
+        }
+        if (filter.hasRadius()) {
+            if (Float.isNaN(lats[i])) {
+                return false;
+            }
+            return CustomerSpatialIndex.distanceMeters(
+                filter.centerLat(), filter.centerLng(), lats[i], lngs[i]) <= filter.radiusMeters();
+        }
+        return true;
+    }
+
+    private boolean sampled(int id) {
+        return (mix(id) & 0xFFFFFFFFL) < threshold;
+    }
+
+    // murmur3 fmix32 - 연속 ID 를 균등 분포 해시로 변환
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    // 필터 값이 null 이면 조건 미적용, 사전에 없는 값이면 어떤 표본과도 일치하지 않음
+    private int lookup(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        return codes.getOrDefault(value, UNKNOWN_CODE);
+    }
+
+    private int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        return codes.computeIfAbsent(value, k -> codes.size());
+    }
+
+    private void add(int id, CustomerChangedEvent.Snapshot customer) {
+        if (size == ids.length) {
+            int capacity = Math.max(1024, size * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            genders = Arrays.copyOf(genders, capacity);
+            sidos = Arrays.copyOf(sidos, capacity);
+            sigungus = Arrays.copyOf(sigungus, capacity);
+            birthYears = Arrays.copyOf(birthYears, capacity);
+            lats = Arrays.copyOf(lats, capacity);
+            lngs = Arrays.copyOf(lngs, capacity);
+        }
+        int slot = size++;
+        ids[slot] = id;
+        genders[slot] = encode(customer.gender());
+        sidos[slot] = encode(customer.sido());
+        sigungus[slot] = encode(customer.sigungu());
+        birthYears[slot] = customer.birthYear() != null ? customer.birthYear() : Integer.MIN_VALUE;
+        lats[slot] = customer.lat() != null && customer.lng() != null ? customer.lat().floatValue() : Float.NaN;
+        lngs[slot] = customer.lat() != null && customer.lng() != null ? customer.lng().floatValue() : Float.NaN;
+        slotById.put(id, slot);
+    }
+
+    // 마지막 원소를 빈 자리로 옮겨 배열을 빈틈없이 유지
+    private void remove(int id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        int last = --size;
+        if (slot != last) {
+            ids[slot] = ids[last];
+            genders[slot] = genders[last];
+            sidos[slot] = sidos[last];
+            sigungus[slot] = sigungus[last];
+            birthYears[slot] = birthYears[last];
+            lats[slot] = lats[last];
+            lngs[slot] = lngs[last];
+            slotById.put(ids[slot], slot);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.kt.campaign.service;
+
+import com.kt.campaign.config.GatewayConfig;
+import com.kt.campaign.gateway.MessageGateway;
+import com.kt.campaign.gateway.OutboundMessage;
+import com.kt.campaign.gateway.SubmitResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 게이트웨이 배치 파이프라인 발송기
+ *
+ * 메시지를 batchSize 단위로 나누어 게이트웨이에 보내고, 응답을 기다리지 않고
+ * 최대 maxInFlight 개 배치를 동시에 진행합니다.
+ * 배치마다 DeliveryScheduler 에서 게이트웨이/발신 사용자 토큰을 예약한 뒤 제출합니다.
+ * 배치 응답이 오면 onBatch 콜백으로 메시지별 결과를 넘기며, 응답 실패/시간 초과 시에는
+ * 배치의 모든 메시지를 실패 결과(GATEWAY_ERROR)로 넘깁니다.
+ *
+ * 응답은 완료 대기열에 넣기만 하고, onBatch 콜백(DB 반영)은 send() 를 호출한 스레드가 꺼내어 실행합니다.
+ * 게이트웨이 완료 스레드나 JDK 공용 시간 초과 스레드에서 DB 작업을 하지 않기 위해서입니다.
+ * 콜백이 예외를 던지면 다음 배치를 제출하지 않고 그 예외를 그대로 전달합니다
+ * (이미 제출된 배치의 응답은 버리며, 해당 대상자는 PENDING 으로 남아 재시도 시 다시 발송됩니다).
+ * 정상이면 send() 는 모든 배치의 콜백이 끝난 뒤 반환합니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Component
+@RequiredArgsConstructor
+public class BatchMessageSender {
+
+    private final MessageGateway messageGateway;
+    private final GatewayConfig gatewayConfig;
+    private final DeliveryScheduler deliveryScheduler;
+
+    /**
+     * 배치 응답 콜백 (batchIndex: 메시지 목록 앞에서부터의 배치 순번)
+     */
+    @FunctionalInterface
+    public interface BatchCallback {
+        void onBatch(int batchIndex, List<OutboundMessage> batch, List<SubmitResult> results);
+    }
+
+    public void send(Long tenantId, List<OutboundMessage> messages, BatchCallback onBatch) {
+        int batchSize = batchSize();
+        int maxInFlight = Math.max(1, gatewayConfig.getMaxInFlight());
+        BlockingQueue<CompletedBatch> completed = new LinkedBlockingQueue<>();
+        int inFlight = 0;
+
+        try {
+            for (int from = 0; from < messages.size(); from += batchSize) {
+                // 제출 전에 도착한 응답부터 반영 (콜백 실패 시 여기서 중단), 진행 중 배치가 한도면 하나가 끝날 때까지 대기
+                for (CompletedBatch done; (done = completed.poll()) != null; inFlight--) {
+                    done.deliverTo(onBatch);
+                }
+                for (; inFlight >= maxInFlight; inFlight--) {
+                    completed.take().deliverTo(onBatch);
+                }
+
+                List<OutboundMessage> batch = messages.subList(from, Math.min(from + batchSize, messages.size()));
+                deliveryScheduler.acquire(messageGateway.name(), tenantId, batch.size());
+                int batchIndex = from / batchSize;
+                submit(batch).thenAccept(results -> completed.add(new CompletedBatch(batchIndex, batch, results)));
+                inFlight++;
+            }
+            for (; inFlight > 0; inFlight--) {
+                completed.take().deliverTo(onBatch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("발송이 중단되었습니다.", e);
+        }
+    }
+
+    public int batchCount(int messages) {
+        int batchSize = batchSize();
+        return (messages + batchSize - 1) / batchSize;
+    }
+
+    private int batchSize() {
+        return Math.max(1, gatewayConfig.getBatchSize());
+    }
+
+    private CompletableFuture<List<SubmitResult>> submit(List<OutboundMessage> batch) {
+        CompletableFuture<List<SubmitResult>> response;
+        try {
+            response = messageGateway.submit(batch);
+        } catch (Exception e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        return response
+            .orTimeout(gatewayConfig.getTimeoutMs(), TimeUnit.MILLISECONDS)
+            .exceptionally(error -> {
+                List<SubmitResult> failures = new ArrayList<>(batch.size());
+                for (OutboundMessage message : batch) {
+                    failures.add(SubmitResult.rejected(message.targetId(), "GATEWAY_ERROR"));
+                }
+                return failures;
+            });
+    }
+
+    private record CompletedBatch(int batchIndex, List<OutboundMessage> batch, List<SubmitResult> results) {
+
+        void deliverTo(BatchCallback onBatch) {
+            onBatch.onBatch(batchIndex, batch, results);
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package com.kt.campaign.service;
+
+import com.kt.campaign.config.DeliveryConfig;
+import com.kt.campaign.entity.Campaign;
+import com.kt.campaign.entity.CampaignFilter;
+import com.kt.campaign.entity.CampaignSendJob;
+import com.kt.campaign.entity.ChatMessage;
+import com.kt.campaign.gateway.OutboundMessage;
+import com.kt.campaign.gateway.SubmitResult;
+import com.kt.campaign.repository.CampaignHourlyStatsRepository;
+import com.kt.campaign.repository.CampaignRepository;
+import com.kt.campaign.repository.CampaignSendJobRepository;
+import com.kt.campaign.repository.CampaignTargetRepository;
+import com.kt.campaign.repository.ChatMessageRepository;
+import com.kt.campaign.repository.CustomerRepository;
+import com.kt.campaign.repository.DemographicCubeRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 캠페인 발송 작업 처리 서비스
+ *
+ * CampaignSendWorker 가 큐에서 가져온 작업을 종류별로 처리합니다.
+ * - TARGET: 대상자 생성(INSERT ... SELECT, 수신 빈도 제한 고객 제외), 수량/비용 보정 및 부족분 환불,
+ *   대상자 id 범위를 chunkSize 씩 나눈 DELIVER 작업을 공정 분배 가상 시각과 함께 등록,
+ *   대상자의 연령대 × 성별 분포 기록
+ * - DELIVER: 범위 내 대기 대상자 본문을 캠페인별로 컴파일한 MessageTemplate 으로 렌더링하여
+ *   (추적 사용 시 링크는 대상자별 서명 토큰이 든 클릭 추적 링크)
+ *   BatchMessageSender 로 게이트웨이에 배치 발송하고,
+ *   배치 응답마다 DELIVERED/FAILED 일괄 UPDATE 와 진행률(Campaign.sentCount), 시간별 집계, 실시간 발송 카운터 누적
+ *
+ * TARGET 작업은 처리 결과와 작업 완료(DONE) 표시가 같은 트랜잭션으로 커밋되고,
+ * DELIVER 작업은 PENDING 상태인 대상자만 보내고 갱신하므로 재시도해도 두 번 반영되지 않습니다.
+ * 캠페인의 마지막 작업이 끝나면 COMPLETED 로 전환하고, 발송 실패 대상자 비용을 환불한 뒤
+ * 캠페인 분포를 사용자 분포에 더하고 완료 알림 메시지를 남깁니다.
+ * 작업이 최종 실패하면 캠페인을 FAILED 로 전환하고 남은 작업을 취소한 뒤 발송되지 않은 금액을 환불합니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Service
+public class CampaignDeliveryService {
+
+    private final CampaignRepository campaignRepository;
+    private final CampaignTargetRepository campaignTargetRepository;
+    private final CampaignSendJobRepository campaignSendJobRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final CustomerRepository customerRepository;
+    private final WalletServiceInterface walletService;
+    private final DeliveryConfig deliveryConfig;
+    private final BatchMessageSender batchMessageSender;
+    private final DeliveryScheduler deliveryScheduler;
+    private final ContactFrequencyCounter contactFrequencyCounter;
+    private final TrackingTokenCodec trackingTokenCodec;
+    private final CampaignStatsCounter campaignStatsCounter;
+    private final CampaignHourlyStatsRepository campaignHourlyStatsRepository;
+    private final DemographicCubeRepository demographicCubeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // 캠페인별 컴파일된 본문 템플릿 (DELIVER 작업마다 다시 컴파일하지 않음)
+    private final Cache<Long, MessageTemplate> templates = Caffeine.newBuilder()
+        .maximumSize(1000)
+        .expireAfterAccess(Duration.ofMinutes(30))
+        .build();
+
+    public CampaignDeliveryService(CampaignRepository campaignRepository,
+                                   CampaignTargetRepository campaignTargetRepository,
+                                   CampaignSendJobRepository campaignSendJobRepository,
+                                   ChatMessageRepository chatMessageRepository,
+                                   CustomerRepository customerRepository,
+                                   WalletServiceInterface walletService,
+                                   DeliveryConfig deliveryConfig,
+                                   BatchMessageSender batchMessageSender,
+                                   DeliveryScheduler deliveryScheduler,
+                                   ContactFrequencyCounter contactFrequencyCounter,
+                                   TrackingTokenCodec trackingTokenCodec,
+                                   CampaignStatsCounter campaignStatsCounter,
+                                   CampaignHourlyStatsRepository campaignHourlyStatsRepository,
+                                   DemographicCubeRepository demographicCubeRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.campaignRepository = campaignRepository;
+        this.campaignTargetRepository = campaignTargetRepository;
+        this.campaignSendJobRepository = campaignSendJobRepository;
+        this.chatMessageRepository = chatMessageRepository;
+        this.customerRepository = customerRepository;
+        this.walletService = walletService;
+        this.deliveryConfig = deliveryConfig;
+        this.batchMessageSender = batchMessageSender;
+        this.deliveryScheduler = deliveryScheduler;
+        this.contactFrequencyCounter = contactFrequencyCounter;
+        this.trackingTokenCodec = trackingTokenCodec;
+        this.campaignStatsCounter = campaignStatsCounter;
+        this.campaignHourlyStatsRepository = campaignHourlyStatsRepository;
+        this.demographicCubeRepository = demographicCubeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 워커가 RUNNING 으로 가져간 작업 처리
+     */
+    public void run(CampaignSendJob job) {
+        switch (job.getType()) {
+            case TARGET -> transactionTemplate.executeWithoutResult(status -> materializeTargets(job));
+            case DELIVER -> sendRange(job);
+        }
+    }
+
+    /**
+     * 남은 작업이 없으면 COMPLETED 전환 - 조건부 UPDATE 이므로 여러 워커 중 한 곳에서만 성공
+     * 게이트웨이 거절/시간 초과로 FAILED 가 된 대상자 비용은 같은 트랜잭션에서 환불하고,
+     * finalCost 를 DELIVERED 대상자 비용으로 확정합니다 (failCampaign 과 같은 계산).
+     */
+    public void completeIfFinished(Long campaignId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (campaignRepository.completeIfNoPendingJobs(campaignId) == 0) {
+                return;
+            }
+            demographicCubeRepository.addCampaignToUser(campaignId);
+            Campaign campaign = campaignRepository.findById(campaignId)
+                .orElseThrow(() -> new IllegalArgumentException("캠페인을 찾을 수 없습니다."));
+
+            long charged = campaign.getFinalCost() != null ? campaign.getFinalCost() : campaign.getEstimatedCost();
+            long delivered = campaignTargetRepository.countDeliveredByCampaignId(campaignId);
+            long deliveredCost = delivered * campaign.getPricePerRecipient();
+            long refund = charged - deliveredCost;
+            if (refund > 0) {
+                walletService.refundForCampaign(campaign.getUser().getId(), refund, campaignId);
+                System.out.println("Campaign " + campaignId + " refunded " + refund + " for failed recipients");
+            }
+            campaign.setFinalCost(deliveredCost);
+            campaignRepository.save(campaign);
+
+            // 캠페인 완료 알림 메시지 추가
+            ChatMessage notification = new ChatMessage();
+            notification.setUser(campaign.getUser());
+            notification.setFromAdmin(true);
+            notification.setCampaign(campaign);
+            notification.setText(String.format("🎉 '%s' 캠페인이 성공적으로 발송 완료되었습니다! 총 %d명에게 전송되었습니다.",
+                campaign.getTitle(), delivered));
+            notification.setCreatedAt(LocalDateTime.now());
+            chatMessageRepository.save(notification);
+            System.out.println("Campaign " + campaignId + " completed");
+        });
+    }
+
+    /**
+     * 재시도 횟수를 모두 사용한 작업의 캠페인을 실패 처리
+     * 캠페인 행을 잠근 뒤 SENDING 인 경우에만 한 트랜잭션으로
+     * - 남은 QUEUED 작업과 PENDING 대상자를 FAILED 로 전환 (이미 실행 중인 DELIVER 작업은 시작 시 상태를 확인하여 중단)
+     * - 차감된 포인트(대상자 생성 후에는 finalCost, 이전에는 estimatedCost) 중 DELIVERED 대상자 비용을 뺀 나머지 환불
+     * 호출 측 트랜잭션이 있으면 참여하며, 이미 FAILED 이면 아무것도 하지 않으므로 두 번 환불되지 않습니다.
+     */
+    public void failCampaign(Long campaignId, String reason) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Campaign campaign = campaignRepository.findByIdForUpdate(campaignId).orElse(null);
+            if (campaign == null || campaign.getStatus() != Campaign.Status.SENDING) {
+                return;
+            }
+            int cancelledJobs = campaignSendJobRepository.failQueuedByCampaignId(campaignId, "campaign failed: " + reason);
+            campaignTargetRepository.failPendingByCampaignId(campaignId);
+
+            long charged = campaign.getFinalCost() != null ? campaign.getFinalCost() : campaign.getEstimatedCost();
+            long deliveredCost = campaignTargetRepository.countDeliveredByCampaignId(campaignId) * campaign.getPricePerRecipient();
+            long refund = charged - deliveredCost;
+            if (refund > 0) {
+                walletService.refundForCampaign(campaign.getUser().getId(), refund, campaignId);
+            }
+            campaign.setFinalCost(deliveredCost);
+            campaign.setStatus(Campaign.Status.FAILED);
+            campaignRepository.save(campaign);
+            System.out.println("Campaign " + campaignId + " failed (" + reason + "), cancelled " + cancelledJobs
+                + " jobs, refunded " + Math.max(refund, 0));
+        });
+    }
+
+    /**
+     * 대기/실행 중인 작업 없이 SENDING 에 멈춘 캠페인의 남은 작업 다시 등록
+     * - 대상자가 아직 없으면 TARGET 작업 (포인트는 발송 요청 시 이미 차감되었으므로 다시 차감하지 않음)
+     * - PENDING 대상자가 남아 있으면 가장 작은 PENDING id 부터 DELIVER 작업
+     * - 남은 대상자가 없으면 COMPLETED 전환
+     * 캠페인 행을 잠근 뒤 남은 작업 수를 다시 확인하므로 중복 등록되지 않습니다.
+     */
+    public void resume(Long campaignId) {
+        Boolean enqueued = transactionTemplate.execute(status -> {
+            Campaign campaign = campaignRepository.findByIdForUpdate(campaignId).orElse(null);
+            if (campaign == null || campaign.getStatus() != Campaign.Status.SENDING
+                || campaignSendJobRepository.countPendingByCampaignId(campaignId) > 0) {
+                return true;
+            }
+            if (!campaignTargetRepository.existsByCampaignId(campaignId)) {
+                campaignSendJobRepository.save(CampaignSendJob.target(campaignId));
+                System.out.println("Campaign " + campaignId + " resumed from targeting");
+                return true;
+            }
+            Long fromId = campaignTargetRepository.findMinPendingIdByCampaignId(campaignId);
+            if (fromId == null) {
+                return false;
+            }
+            campaignSendJobRepository.saveAll(
+                deliverJobs(campaignId, fromId, deliveryScheduler.weightOf(campaign.getUser().getId())));
+            System.out.println("Campaign " + campaignId + " resumed from target " + fromId);
+            return true;
+        });
+        if (!Boolean.TRUE.equals(enqueued)) {
+            completeIfFinished(campaignId);
+        }
+    }
+
+    /**
+     * 대상자 생성 후 실제 생성 수로 발송 수량/비용 보정
+     * 미리보기 이후 고객이 줄어 대상자가 부족하면 차감된 포인트 중 부족분을 환불합니다.
+     * 늘어난 경우에는 결제된 recipientsCount 만큼만 생성합니다.
+     * 수신 빈도 제한에 도달한 고객은 제외하며, 그만큼 대상자가 부족하면 같은 방식으로 환불됩니다.
+     * 생성된 대상자는 커밋 후 빈도 제한 카운터에 수신 1회로 기록합니다.
+     *
+     * 캠페인 행을 잠근 뒤 대상자 존재 여부를 확인하므로, 회수된 TARGET 작업이 동시에 다시 실행되어도
+     * 대상자 생성과 환불은 한 번만 일어납니다.
+     */
+    private void materializeTargets(CampaignSendJob job) {
+        Campaign campaign = campaignRepository.findByIdForUpdate(job.getCampaignId())
+            .orElseThrow(() -> new IllegalArgumentException("캠페인을 찾을 수 없습니다."));
+
+        if (campaign.getStatus() == Campaign.Status.SENDING && !campaignTargetRepository.existsByCampaignId(campaign.getId())) {
+            CampaignFilter filter = CampaignFilter.from(campaign.getFilters());
+            RoaringBitmap capped = contactFrequencyCounter.capped();
+            int inserted = campaignTargetRepository.insertTargets(campaign.getId(), filter, capped, campaign.getRecipientsCount());
+            demographicCubeRepository.addCampaign(campaign.getId());
+            // 제외 수는 한도 도달 고객 중 조건에 맞는 고객만 기본 키로 세어 계산 (전체 조건 COUNT 없음)
+            int excluded = capped.isEmpty() ? 0 : (int) customerRepository.countByFilterWithin(filter, capped);
+
+            long finalCost = (long) inserted * campaign.getPricePerRecipient();
+            if (inserted < campaign.getRecipientsCount()) {
+                walletService.refundForCampaign(campaign.getUser().getId(),
+                    campaign.getEstimatedCost() - finalCost, campaign.getId());
+                System.out.println("Campaign " + campaign.getId() + " targeted " + inserted + " of "
+                    + campaign.getRecipientsCount() + " recipients, refunded " + (campaign.getEstimatedCost() - finalCost));
+            }
+            campaign.setRecipientsCount(inserted);
+            campaign.setFinalCost(finalCost);
+            campaign.setFrequencyCapExcluded(excluded);
+            campaignRepository.save(campaign);
+
+            // 빈도 제한 카운터는 이 트랜잭션이 커밋된 뒤에만 반영 (롤백/재시도 시 중복 집계 방지)
+            RoaringBitmap targeted = new RoaringBitmap();
+            try (Stream<Long> customerIds = campaignTargetRepository.streamCustomerIdsByCampaignId(campaign.getId())) {
+                customerIds.forEach(id -> targeted.add(id.intValue()));
+            }
+            contactFrequencyCounter.recordAfterCommit(targeted);
+
+            Long minId = campaignTargetRepository.findMinIdByCampaignId(campaign.getId());
+            if (minId != null) {
+                campaignSendJobRepository.saveAll(
+                    deliverJobs(campaign.getId(), minId, deliveryScheduler.weightOf(campaign.getUser().getId())));
+            }
+        }
+
+        campaignSendJobRepository.markDone(job.getId());
+    }
+
+    // fromId 부터 대상자 id 범위를 chunkSize 단위 DELIVER 작업으로 분할, k 번째 청크의 가상 시작 시각은 V + k / weight
+    private List<CampaignSendJob> deliverJobs(Long campaignId, long fromId, double weight) {
+        List<CampaignSendJob> jobs = new ArrayList<>();
+        Long maxId = campaignTargetRepository.findMaxIdByCampaignId(campaignId);
+        if (maxId == null) {
+            return jobs;
+        }
+        int chunkSize = Math.max(1, deliveryConfig.getChunkSize());
+        double virtualTime = deliveryScheduler.currentVirtualTime();
+        int chunk = 0;
+        for (long start = fromId; start <= maxId; start += chunkSize) {
+            jobs.add(CampaignSendJob.deliver(campaignId, start, Math.min(start + chunkSize - 1, maxId),
+                virtualTime + chunk++ / weight));
+        }
+        return jobs;
+    }
+
+    /**
+     * 범위 내 대기 대상자를 게이트웨이로 발송하고 배치 응답마다 결과 반영
+     * 체크포인트(앞선 배치가 모두 커밋된 마지막 대상자 id)는 배치 결과 트랜잭션이 커밋된 뒤에만 전진하므로,
+     * 회수된 작업은 체크포인트 다음 대상자부터, 그중에서도 아직 PENDING 인 대상자만 다시 보냅니다.
+     * 중단 시점에 게이트웨이 응답을 기다리던 배치는 다시 보내질 수 있으며,
+     * 게이트웨이는 targetId 를 중복 제거 키로 사용할 수 있습니다.
+     */
+    private void sendRange(CampaignSendJob job) {
+        Campaign campaign = campaignRepository.findById(job.getCampaignId())
+            .orElseThrow(() -> new IllegalArgumentException("캠페인을 찾을 수 없습니다."));
+        if (campaign.getStatus() != Campaign.Status.SENDING) {
+            // 실패 처리된 캠페인의 작업이 그 직전에 시작된 경우 - 발송하지 않고 종료
+            transactionTemplate.executeWithoutResult(status -> campaignSendJobRepository.release(job.getId(),
+                CampaignSendJob.Status.FAILED.name(), "campaign " + campaign.getStatus()));
+            return;
+        }
+        MessageTemplate template = templates.get(campaign.getId(),
+            id -> MessageTemplate.compile(campaign.getMessageText(), campaign.getLink(), trackingTokenCodec.isEnabled()));
+        boolean tracked = template.hasLinkField();
+
+        long fromId = job.getCheckpointTargetId() != null
+            ? Math.max(job.getFromTargetId(), job.getCheckpointTargetId() + 1)
+            : job.getFromTargetId();
+        List<Object[]> recipients = campaignTargetRepository.findPendingRecipientsInRange(
+            job.getCampaignId(), fromId, job.getToTargetId());
+        List<OutboundMessage> messages = new ArrayList<>(recipients.size());
+        StringBuilder buffer = template.newBuffer();
+        for (Object[] row : recipients) {
+            long targetId = ((Number) row[0]).longValue();
+            String link = tracked ? trackingTokenCodec.clickUrl(campaign.getId(), targetId) : null;
+            String text = template.render(buffer, (String) row[2], (String) row[3], link);
+            messages.add(new OutboundMessage(targetId, (String) row[1], text));
+        }
+
+        Long tenantId = campaign.getUser().getId();
+        Checkpoint checkpoint = new Checkpoint(batchMessageSender.batchCount(messages.size()));
+        batchMessageSender.send(tenantId, messages, (batchIndex, batch, results) -> {
+            recordResults(job, results);
+            // 커밋된 배치만 완료로 표시 - 실패한 배치를 건너뛴 체크포인트가 저장되지 않도록
+            Long checkpointTargetId = checkpoint.complete(batchIndex, batch);
+            if (checkpointTargetId != null) {
+                transactionTemplate.executeWithoutResult(status ->
+                    campaignSendJobRepository.checkpoint(job.getId(), checkpointTargetId));
+            }
+        });
+        transactionTemplate.executeWithoutResult(status -> campaignSendJobRepository.markDone(job.getId()));
+    }
+
+    private void recordResults(CampaignSendJob job, List<SubmitResult> results) {
+        List<Long> delivered = new ArrayList<>(results.size());
+        List<Long> failed = new ArrayList<>();
+        for (SubmitResult result : results) {
+            (result.accepted() ? delivered : failed).add(result.targetId());
+        }
+        Integer sent = transactionTemplate.execute(status -> {
+            int updated = 0;
+            int newlySent = 0;
+            if (!delivered.isEmpty()) {
+                LocalDateTime sentAt = LocalDateTime.now();
+                newlySent = campaignTargetRepository.markDelivered(delivered, sentAt);
+                // 시간별 집계도 같은 트랜잭션에서 배치당 한 번 UPSERT
+                campaignHourlyStatsRepository.addSent(job.getCampaignId(), sentAt, newlySent);
+                updated += newlySent;
+            }
+            if (!failed.isEmpty()) {
+                updated += campaignTargetRepository.markFailed(failed);
+            }
+            if (updated > 0) {
+                campaignRepository.addSentCount(job.getCampaignId(), updated);
+            }
+            return newlySent;
+        });
+        // 커밋된 발송 완료 수만 실시간 카운터에 반영
+        campaignStatsCounter.addSent(job.getCampaignId(), sent != null ? sent : 0);
+    }
+
+    /**
+     * 순서와 무관하게 완료되는 배치 중 앞에서부터 연속으로 결과가 커밋된 구간의 끝 대상자 id 추적
+     */
+    private static class Checkpoint {
+
+        private final boolean[] completed;
+        private final long[] lastTargetIds;
+        private int prefix = 0;
+
+        Checkpoint(int batches) {
+            this.completed = new boolean[batches];
+            this.lastTargetIds = new long[batches];
+        }
+
+        // 연속 구간이 늘어나면 새 체크포인트 대상자 id, 아니면 null
+        synchronized Long complete(int batchIndex, List<OutboundMessage> batch) {
+            completed[batchIndex] = true;
+            lastTargetIds[batchIndex] = batch.get(batch.size() - 1).targetId();
+            int before = prefix;
+            while (prefix < completed.length && completed[prefix]) {
+                prefix++;
+            }
+            return prefix > before ? lastTargetIds[prefix - 1] : null;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.kt.campaign.service;
+
+import com.kt.campaign.repository.CampaignHourlyStatsRepository;
+import com.kt.campaign.repository.CampaignHourlyStatsRepository.HourlyRow;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 캠페인 시간별 집계(campaign_hourly_stats) 조회와 재계산
+ *
+ * 시간별 차트는 이 집계만 읽습니다. 집계는 발송/읽음/클릭 반영 시 증분으로 유지되며,
+ * 시작 시 집계가 비어 있으면(도입 직후) 원본 데이터로 한 번 채웁니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Component
+public class CampaignHourlyRollup {
+
+    // 첫 구간부터 빈 시간도 0 으로 채워 연속으로 반환하는 최대 구간 수 (넘으면 값이 있는 구간만)
+    private static final int MAX_CONTINUOUS_HOURS = 168;
+    private static final DateTimeFormatter LABEL = DateTimeFormatter.ofPattern("MM-dd HH:00");
+
+    private final CampaignHourlyStatsRepository campaignHourlyStatsRepository;
+
+    public CampaignHourlyRollup(CampaignHourlyStatsRepository campaignHourlyStatsRepository) {
+        this.campaignHourlyStatsRepository = campaignHourlyStatsRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            if (campaignHourlyStatsRepository.isEmpty()) {
+                rebuild(null);
+            }
+        } catch (Exception e) {
+            System.err.println("Campaign hourly stats backfill failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 원본 데이터로 집계 재계산 (campaignId 가 null 이면 전체)
+     */
+    public Map<String, Object> rebuild(Long campaignId) {
+        long started = System.currentTimeMillis();
+        int rows = campaignHourlyStatsRepository.rebuild(campaignId);
+        long elapsed = System.currentTimeMillis() - started;
+        System.out.println("Campaign hourly stats rebuilt" + (campaignId != null ? " for campaign " + campaignId : "")
+            + ": " + rows + " rows in " + elapsed + "ms");
+        Map<String, Object> result = new HashMap<>();
+        result.put("campaignId", campaignId);
+        result.put("rows", rows);
+        result.put("elapsedMs", elapsed);
+        return result;
+    }
+
+    /**
+     * 차트용 시간 구간 목록 - 항목: time(표시용), hour(구간 시작 시각), sent, read, click
+     */
+    public List<Map<String, Object>> hourlyStats(Long campaignId) {
+        List<HourlyRow> rows = campaignHourlyStatsRepository.findByCampaignId(campaignId);
+        List<Map<String, Object>> result = new ArrayList<>();
+        if (rows.isEmpty()) {
+            return result;
+        }
+        LocalDateTime first = rows.get(0).hour();
+        LocalDateTime last = rows.get(rows.size() - 1).hour();
+        if (ChronoUnit.HOURS.between(first, last) >= MAX_CONTINUOUS_HOURS) {
+            for (HourlyRow row : rows) {
+                result.add(toEntry(row.hour(), row.sent(), row.read(), row.click()));
+            }
+            return result;
+        }
+        int index = 0;
+        for (LocalDateTime hour = first; !hour.isAfter(last); hour = hour.plusHours(1)) {
+            HourlyRow row = index < rows.size() && rows.get(index).hour().equals(hour) ? rows.get(index++) : null;
+            result.add(row != null
+                ? toEntry(hour, row.sent(), row.read(), row.click())
+                : toEntry(hour, 0, 0, 0));
+        }
+        return result;
+    }
+
+    private static Map<String, Object> toEntry(LocalDateTime hour, long sent, long read, long click) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("time", hour.format(LABEL));
+        entry.put("hour", hour.toString());
+        entry.put("sent", sent);
+        entry.put("read", read);
+        entry.put("click", click);
+        return entry;
+    }
+}
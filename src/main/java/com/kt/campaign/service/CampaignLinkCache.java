@@ -0,0 +1,38 @@
+package com.kt.campaign.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.kt.campaign.config.TrackingConfig;
+import com.kt.campaign.repository.CampaignRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 클릭 리다이렉트용 캠페인 id → 링크 캐시
+ *
+ * 캐시 적중 시 리다이렉트는 맵 조회 한 번으로 끝나며, 누락 시에도 링크 컬럼 하나만 조회합니다 (엔티티 로딩 없음).
+ * 링크가 없는 캠페인은 기본 이동 주소로 캐시합니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Component
+public class CampaignLinkCache {
+
+    private final TrackingConfig config;
+    private final LoadingCache<Long, String> links;
+
+    public CampaignLinkCache(CampaignRepository campaignRepository, TrackingConfig config) {
+        this.config = config;
+        this.links = Caffeine.newBuilder()
+            .maximumSize(config.getLinkCacheSize())
+            .expireAfterWrite(Duration.ofSeconds(config.getLinkCacheTtlSeconds()))
+            .build(campaignId -> campaignRepository.findLinkById(campaignId)
+                .filter(link -> !link.isBlank())
+                .orElse(config.getDefaultRedirectUrl()));
+    }
+
+    public String redirectUrl(Long campaignId) {
+        return campaignId != null ? links.get(campaignId) : config.getDefaultRedirectUrl();
+    }
+}
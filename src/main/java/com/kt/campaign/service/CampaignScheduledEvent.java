@@ -0,0 +1,11 @@
+package com.kt.campaign.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 캠페인 예약 발송 등록 이벤트 - 커밋 후 CampaignScheduler 가 타이밍 휠에 등록
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+public record CampaignScheduledEvent(Long campaignId, LocalDateTime scheduledAt) {
+}
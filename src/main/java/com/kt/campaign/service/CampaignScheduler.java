@@ -0,0 +1,141 @@
+package com.kt.campaign.service;
+
+import com.kt.campaign.config.CampaignSchedulerConfig;
+import com.kt.campaign.entity.CampaignSendJob;
+import com.kt.campaign.repository.CampaignRepository;
+import com.kt.campaign.repository.CampaignSendJobRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 예약 발송 스케줄러
+ *
+ * SCHEDULED 캠페인을 노드 메모리의 HashedTimingWheel 에 올려 예약 시각(초 단위)에 발송을 시작합니다.
+ * - 시작 시와 rehydrateIntervalMs 주기로 lookaheadSeconds 안에 실행할 예약을 campaigns 에서 다시 읽어 등록합니다.
+ *   (다른 노드에서 등록된 예약, 노드가 꺼져 있던 동안 지난 예약, 실행 중 오류가 난 예약 포함)
+ * - 예약 시각이 되면 조건부 UPDATE(SCHEDULED → SENDING)로 실행권을 얻은 노드만 TARGET 작업을 등록하므로
+ *   여러 노드가 같은 예약을 들고 있어도 한 번만 발송됩니다.
+ * - 포인트는 예약 시점에 이미 차감되었으므로 실행 시에는 차감하지 않습니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Component
+public class CampaignScheduler {
+
+    private final CampaignRepository campaignRepository;
+    private final CampaignSendJobRepository campaignSendJobRepository;
+    private final CampaignSchedulerConfig config;
+    private final TransactionTemplate transactionTemplate;
+    private final HashedTimingWheel wheel;
+
+    // 이 노드 휠에 올라간 캠페인 (중복 등록 방지)
+    private final Map<Long, HashedTimingWheel.Timeout> registered = new ConcurrentHashMap<>();
+    // 틱 스레드를 막지 않도록 DB 작업은 별도 스레드에서 실행
+    private final ExecutorService fireExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "campaign-scheduler-fire");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CampaignScheduler(CampaignRepository campaignRepository,
+                             CampaignSendJobRepository campaignSendJobRepository,
+                             CampaignSchedulerConfig config,
+                             PlatformTransactionManager transactionManager) {
+        this.campaignRepository = campaignRepository;
+        this.campaignSendJobRepository = campaignSendJobRepository;
+        this.config = config;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.wheel = new HashedTimingWheel("campaign-scheduler-tick", config.getTickMs(), config.getWheelSize());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        wheel.start();
+        rehydrate();
+    }
+
+    @PreDestroy
+    public void stop() {
+        wheel.stop();
+        fireExecutor.shutdownNow();
+    }
+
+    /**
+     * 예약 등록 트랜잭션 커밋 후 휠에 등록
+     */
+    @TransactionalEventListener
+    public void onCampaignScheduled(CampaignScheduledEvent event) {
+        register(event.campaignId(), event.scheduledAt());
+    }
+
+    @Scheduled(fixedDelayString = "${app.campaign-scheduler.rehydrate-interval-ms:60000}",
+               initialDelayString = "${app.campaign-scheduler.rehydrate-interval-ms:60000}")
+    public void rehydrate() {
+        try {
+            List<Object[]> rows = campaignRepository.findScheduledBefore(horizon());
+            for (Object[] row : rows) {
+                register((Long) row[0], (LocalDateTime) row[1]);
+            }
+            System.out.println("Campaign scheduler rehydrated: " + rows.size() + " scheduled, " + registered.size() + " on wheel");
+        } catch (Exception e) {
+            System.err.println("Campaign scheduler rehydrate failed: " + e.getMessage());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("registered", registered.size());
+        result.put("pendingTimeouts", wheel.pending());
+        result.put("tickMs", config.getTickMs());
+        result.put("wheelSize", wheel.wheelSize());
+        result.put("lookaheadSeconds", config.getLookaheadSeconds());
+        return result;
+    }
+
+    private LocalDateTime horizon() {
+        return LocalDateTime.now().plusSeconds(config.getLookaheadSeconds());
+    }
+
+    private void register(Long campaignId, LocalDateTime scheduledAt) {
+        if (scheduledAt == null || !scheduledAt.isBefore(horizon())) {
+            return;
+        }
+        long delayMs = Duration.between(LocalDateTime.now(), scheduledAt).toMillis();
+        registered.computeIfAbsent(campaignId, id ->
+            wheel.schedule(() -> fireExecutor.execute(() -> fire(id)), delayMs));
+    }
+
+    private void fire(Long campaignId) {
+        registered.remove(campaignId);
+        try {
+            Boolean claimed = transactionTemplate.execute(status -> {
+                if (campaignRepository.claimScheduled(campaignId, LocalDateTime.now()) == 0) {
+                    return false;
+                }
+                campaignSendJobRepository.save(CampaignSendJob.target(campaignId));
+                return true;
+            });
+            if (Boolean.TRUE.equals(claimed)) {
+                System.out.println("Scheduled campaign " + campaignId + " started");
+            }
+        } catch (Exception e) {
+            // SCHEDULED 로 남아 있으므로 다음 재적재 때 다시 실행
+            System.err.println("Scheduled campaign " + campaignId + " start failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.kt.campaign.service;
+
+import com.kt.campaign.config.SendQueueConfig;
+import com.kt.campaign.repository.CampaignRepository;
+import com.kt.campaign.repository.CampaignSendJobRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 중단된 캠페인 발송 복구
+ *
+ * 노드 시작 시와 recoveryIntervalMs 주기로 실행합니다.
+ * 1. staleTimeoutSeconds 동안 생존 신호(워커의 주기적 갱신, 체크포인트 갱신)가 없는 RUNNING 작업을 QUEUED 로 회수합니다.
+ *    회수된 DELIVER 작업은 마지막 체크포인트 다음 대상자부터 이어서 발송합니다.
+ * 2. 대기/실행 중인 작업 없이 SENDING 에 머문 캠페인은 남은 대상자 기준으로 작업을 다시 등록합니다.
+ *
+ * 여러 노드가 동시에 실행해도 advisory lock 을 얻은 한 노드만 회수를 수행합니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Component
+public class CampaignSendRecovery {
+
+    // pg_try_advisory_xact_lock 키 (campaign_send_jobs 회수 전용)
+    private static final long RECOVERY_LOCK_KEY = 0x4B54_5345_4E44L;
+
+    private final CampaignRepository campaignRepository;
+    private final CampaignSendJobRepository campaignSendJobRepository;
+    private final CampaignDeliveryService campaignDeliveryService;
+    private final SendQueueConfig sendQueueConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    public CampaignSendRecovery(CampaignRepository campaignRepository,
+                                CampaignSendJobRepository campaignSendJobRepository,
+                                CampaignDeliveryService campaignDeliveryService,
+                                SendQueueConfig sendQueueConfig,
+                                PlatformTransactionManager transactionManager) {
+        this.campaignRepository = campaignRepository;
+        this.campaignSendJobRepository = campaignSendJobRepository;
+        this.campaignDeliveryService = campaignDeliveryService;
+        this.sendQueueConfig = sendQueueConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        recover();
+    }
+
+    @Scheduled(fixedDelayString = "${app.send-queue.recovery-interval-ms:60000}",
+               initialDelayString = "${app.send-queue.recovery-interval-ms:60000}")
+    public void recover() {
+        try {
+            List<Long> stalled = transactionTemplate.execute(status -> {
+                if (!campaignSendJobRepository.tryAdvisoryLock(RECOVERY_LOCK_KEY)) {
+                    return List.<Long>of();
+                }
+                LocalDateTime cutoff = LocalDateTime.now().minusSeconds(sendQueueConfig.getStaleTimeoutSeconds());
+                int requeued = campaignSendJobRepository.requeueStale(cutoff);
+                if (requeued > 0) {
+                    System.out.println("Requeued " + requeued + " stale send jobs");
+                }
+                return campaignRepository.findStalledSendingIds();
+            });
+
+            for (Long campaignId : stalled) {
+                try {
+                    campaignDeliveryService.resume(campaignId);
+                } catch (Exception e) {
+                    System.err.println("Campaign " + campaignId + " resume failed: " + e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Send queue recovery failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.kt.campaign.service;
+
+import com.kt.campaign.config.SendQueueConfig;
+import com.kt.campaign.entity.CampaignSendJob;
+import com.kt.campaign.repository.CampaignSendJobRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 캠페인 발송 작업 큐 워커
+ *
+ * 노드마다 workers 개의 스레드가 campaign_send_jobs 를 폴링합니다.
+ * 작업은 SELECT ... FOR UPDATE SKIP LOCKED 로 잠근 뒤 RUNNING 으로 바꾸어 커밋하므로
+ * 여러 노드의 워커가 같은 작업을 중복으로 가져가지 않고, 처리량은 워커 수와 노드 수에 비례합니다.
+ *
+ * 처리 중 오류가 나면 maxAttempts 까지 QUEUED 로 되돌려 재시도하고,
+ * 모두 실패하면 작업과 캠페인을 FAILED 로 전환하고, 남은 작업을 취소한 뒤 발송되지 않은 금액을 환불합니다.
+ * 처리 중인 작업은 별도 스레드가 heartbeatIntervalMs 마다 자체 트랜잭션으로 생존 신호를 갱신하므로,
+ * 체크포인트가 없는 TARGET 작업처럼 오래 걸리는 작업도 회수되지 않습니다.
+ * 노드가 처리 중 종료되어 RUNNING 으로 남은 작업은 CampaignSendRecovery 가 회수합니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Component
+public class CampaignSendWorker {
+
+    private final CampaignSendJobRepository campaignSendJobRepository;
+    private final CampaignDeliveryService campaignDeliveryService;
+    private final SendQueueConfig sendQueueConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    // pid@host - 작업을 가져간 노드 식별용
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    // 이 노드에서 처리 중인 작업 id (생존 신호 갱신 대상)
+    private final Set<Long> active = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService executor;
+    private ScheduledExecutorService heartbeats;
+    private volatile boolean running = false;
+
+    public CampaignSendWorker(CampaignSendJobRepository campaignSendJobRepository,
+                              CampaignDeliveryService campaignDeliveryService,
+                              SendQueueConfig sendQueueConfig,
+                              PlatformTransactionManager transactionManager) {
+        this.campaignSendJobRepository = campaignSendJobRepository;
+        this.campaignDeliveryService = campaignDeliveryService;
+        this.sendQueueConfig = sendQueueConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        int workers = Math.max(1, sendQueueConfig.getWorkers());
+        AtomicInteger sequence = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "send-worker-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "send-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1000, sendQueueConfig.getHeartbeatIntervalMs());
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            executor.submit(this::poll);
+        }
+        System.out.println("Send queue workers started: " + workers + " on " + nodeId);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (executor != null) {
+            executor.shutdown();
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        }
+        if (heartbeats != null) {
+            heartbeats.shutdownNow();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("node", nodeId);
+        result.put("workers", sendQueueConfig.getWorkers());
+        result.put("queued", campaignSendJobRepository.countByStatus(CampaignSendJob.Status.QUEUED));
+        result.put("running", campaignSendJobRepository.countByStatus(CampaignSendJob.Status.RUNNING));
+        result.put("processed", processed.get());
+        result.put("failed", failed.get());
+        result.put("active", active.size());
+        return result;
+    }
+
+    private void poll() {
+        String workerId = nodeId + "/" + Thread.currentThread().getName();
+        while (running) {
+            try {
+                CampaignSendJob job = claim(workerId);
+                if (job == null) {
+                    Thread.sleep(sendQueueConfig.getPollIntervalMs());
+                    continue;
+                }
+                active.add(job.getId());
+                try {
+                    campaignDeliveryService.run(job);
+                    processed.incrementAndGet();
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                    System.err.println("Send job " + job.getId() + " failed: " + e.getMessage());
+                    release(job, e);
+                    continue;
+                } finally {
+                    active.remove(job.getId());
+                }
+                // 작업 결과는 이미 커밋됨 - 완료 전환 실패는 작업 재시도 대상이 아님
+                try {
+                    campaignDeliveryService.completeIfFinished(job.getCampaignId());
+                } catch (Exception e) {
+                    System.err.println("Campaign " + job.getCampaignId() + " completion check failed: " + e.getMessage());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // DB 일시 장애 등 - 잠시 대기 후 계속 폴링
+                System.err.println("Send queue poll failed: " + e.getMessage());
+                sleepQuietly();
+            }
+        }
+    }
+
+    // 처리 중인 작업의 heartbeat_at 갱신 - 작업 트랜잭션과 별개로 바로 커밋
+    private void heartbeat() {
+        if (active.isEmpty()) {
+            return;
+        }
+        try {
+            List<Long> jobIds = List.copyOf(active);
+            transactionTemplate.executeWithoutResult(status -> campaignSendJobRepository.heartbeat(jobIds));
+        } catch (Exception e) {
+            System.err.println("Send job heartbeat failed: " + e.getMessage());
+        }
+    }
+
+    private CampaignSendJob claim(String workerId) {
+        return transactionTemplate.execute(status ->
+            campaignSendJobRepository.lockNextQueued().map(job -> {
+                job.setStatus(CampaignSendJob.Status.RUNNING);
+                job.setAttempts(job.getAttempts() + 1);
+                job.setLockedBy(workerId);
+                job.setLockedAt(LocalDateTime.now());
+                job.setHeartbeatAt(LocalDateTime.now());
+                job.setUpdatedAt(LocalDateTime.now());
+                return campaignSendJobRepository.save(job);
+            }).orElse(null));
+    }
+
+    private void release(CampaignSendJob job, Exception cause) {
+        boolean exhausted = job.getAttempts() >= sendQueueConfig.getMaxAttempts();
+        // 처리 중 커밋된 체크포인트를 덮어쓰지 않도록 상태 컬럼만 갱신
+        // 최종 실패는 작업 상태와 캠페인 실패 처리(남은 작업 취소, 환불)를 같은 트랜잭션으로 커밋
+        transactionTemplate.executeWithoutResult(status -> {
+            campaignSendJobRepository.release(job.getId(),
+                (exhausted ? CampaignSendJob.Status.FAILED : CampaignSendJob.Status.QUEUED).name(), cause.getMessage());
+            if (exhausted) {
+                campaignDeliveryService.failCampaign(job.getCampaignId(), cause.getMessage());
+            }
+        });
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(sendQueueConfig.getPollIntervalMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
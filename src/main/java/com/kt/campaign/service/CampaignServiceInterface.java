@@ -3,6 +3,7 @@ package com.kt.campaign.service;
 import com.kt.campaign.entity.AppUser;
 import com.kt.campaign.entity.Campaign;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -23,16 +24,26 @@ public interface CampaignServiceInterface {
      */
     Map<String, Object> previewCampaign(Map<String, Object> filters);
     
+    /**
+     * 캠페인 미리보기 - approximate 이면 표본 기반 추정치와 95% 신뢰구간 반환 (두 모드 모두 빈도 제한 도달 고객 제외)
+     */
+    Map<String, Object> previewCampaign(Map<String, Object> filters, boolean approximate);
+    
     /**
      * 새로운 캠페인 생성
      */
     Campaign createCampaign(AppUser user, String title, String messageText, String link, Map<String, Object> filters);
     
     /**
-     * 캠페인 발송 실행
+     * 캠페인 발송 요청 (포인트 차감 후 발송 작업 큐에 등록)
      */
     void sendCampaign(Long campaignId, AppUser user);
     
+    /**
+     * 캠페인 예약 발송 (포인트는 예약 시점에 차감, 예약 시각에 CampaignScheduler 가 발송 시작)
+     */
+    void scheduleCampaign(Long campaignId, AppUser user, LocalDateTime scheduledAt);
+    
     /**
      * 사용자의 모든 캠페인 조회
      */
@@ -0,0 +1,204 @@
+package com.kt.campaign.service;
+
+import com.kt.campaign.config.CampaignStatsConfig;
+import com.kt.campaign.repository.CampaignTargetRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 캠페인별 발송/읽음/클릭 실시간 카운터
+ *
+ * 캠페인마다 LongAdder 3개(스레드별 분산 셀)를 두어, 발송 결과 반영과 읽음/클릭 반영 경로에서
+ * 실제로 값이 바뀐 행 수만큼 경합 없이 더합니다. 통계 조회는 셀 합산뿐이라 COUNT 쿼리가 없습니다.
+ *
+ * - 적재: 캠페인을 처음 조회할 때 DB 집계 한 번으로 초기값을 채웁니다 (재시작 후에도 DB 가 기준).
+ *   적재되지 않은 캠페인의 증가분은 버리며, 이후 적재 시 DB 집계에 포함됩니다.
+ * - 보정: reconcileIntervalMs 주기로 적재된 캠페인을 DB 집계와 비교해 차이만큼 더합니다.
+ *   다른 노드에서 반영된 값과 적재/증가 사이의 경합으로 생긴 오차가 여기서 맞춰집니다.
+ * - 정리: idleMinutes 동안 조회되지 않은 캠페인은 제거합니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Component
+public class CampaignStatsCounter {
+
+    private static final int QUERY_CHUNK = 1000;
+
+    private final CampaignTargetRepository campaignTargetRepository;
+    private final CampaignStatsConfig config;
+
+    private final ConcurrentHashMap<Long, Counters> counters = new ConcurrentHashMap<>();
+
+    private final AtomicLong seeds = new AtomicLong();
+    private final AtomicLong reconciles = new AtomicLong();
+    private volatile long lastDrift = 0;
+
+    public record Snapshot(long sent, long read, long click) {
+    }
+
+    public CampaignStatsCounter(CampaignTargetRepository campaignTargetRepository, CampaignStatsConfig config) {
+        this.campaignTargetRepository = campaignTargetRepository;
+        this.config = config;
+    }
+
+    /**
+     * 캠페인 하나의 현재 값 (처음이면 DB 에서 적재)
+     */
+    public Snapshot get(Long campaignId) {
+        return getAll(List.of(campaignId)).get(campaignId);
+    }
+
+    /**
+     * 여러 캠페인의 현재 값 - 적재되지 않은 캠페인은 한 번의 집계 쿼리로 함께 적재
+     */
+    public Map<Long, Snapshot> getAll(Collection<Long> campaignIds) {
+        List<Long> missing = new ArrayList<>();
+        for (Long campaignId : campaignIds) {
+            if (!counters.containsKey(campaignId)) {
+                missing.add(campaignId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            seed(missing);
+        }
+        long now = System.currentTimeMillis();
+        Map<Long, Snapshot> result = new HashMap<>();
+        for (Long campaignId : campaignIds) {
+            Counters counter = counters.get(campaignId);
+            if (counter == null) {
+                // 적재 직후 정리된 경우 - 드묾
+                counter = seed(List.of(campaignId)).get(campaignId);
+            }
+            counter.lastAccess = now;
+            result.put(campaignId, counter.snapshot());
+        }
+        return result;
+    }
+
+    public void addSent(Long campaignId, long delta) {
+        Counters counter = counters.get(campaignId);
+        if (counter != null && delta != 0) {
+            counter.sent.add(delta);
+        }
+    }
+
+    public void addRead(Long campaignId, long delta) {
+        Counters counter = counters.get(campaignId);
+        if (counter != null && delta != 0) {
+            counter.read.add(delta);
+        }
+    }
+
+    public void addClick(Long campaignId, long delta) {
+        Counters counter = counters.get(campaignId);
+        if (counter != null && delta != 0) {
+            counter.click.add(delta);
+        }
+    }
+
+    /**
+     * 오래 조회되지 않은 캠페인 제거 후 나머지를 DB 집계와 맞춤
+     */
+    @Scheduled(fixedDelayString = "${app.campaign-stats.reconcile-interval-ms:60000}",
+               initialDelayString = "${app.campaign-stats.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        long idleBefore = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(config.getIdleMinutes());
+        counters.entrySet().removeIf(entry -> entry.getValue().lastAccess < idleBefore);
+        if (counters.isEmpty()) {
+            return;
+        }
+        try {
+            long drift = 0;
+            List<Long> campaignIds = new ArrayList<>(counters.keySet());
+            for (int from = 0; from < campaignIds.size(); from += QUERY_CHUNK) {
+                List<Long> chunk = campaignIds.subList(from, Math.min(from + QUERY_CHUNK, campaignIds.size()));
+                Map<Long, Snapshot> actual = query(chunk);
+                for (Long campaignId : chunk) {
+                    Counters counter = counters.get(campaignId);
+                    if (counter != null) {
+                        drift += counter.adjustTo(actual.getOrDefault(campaignId, new Snapshot(0, 0, 0)));
+                    }
+                }
+            }
+            lastDrift = drift;
+            reconciles.incrementAndGet();
+            if (drift != 0) {
+                System.out.println("Campaign stats counters reconciled: drift " + drift + " across " + campaignIds.size() + " campaigns");
+            }
+        } catch (Exception e) {
+            System.err.println("Campaign stats reconcile failed: " + e.getMessage());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("campaigns", counters.size());
+        result.put("seeds", seeds.get());
+        result.put("reconciles", reconciles.get());
+        result.put("lastDrift", lastDrift);
+        return result;
+    }
+
+    private Map<Long, Counters> seed(List<Long> campaignIds) {
+        Map<Long, Counters> seeded = new HashMap<>();
+        for (int from = 0; from < campaignIds.size(); from += QUERY_CHUNK) {
+            List<Long> chunk = campaignIds.subList(from, Math.min(from + QUERY_CHUNK, campaignIds.size()));
+            Map<Long, Snapshot> actual = query(chunk);
+            for (Long campaignId : chunk) {
+                Counters counter = new Counters(actual.getOrDefault(campaignId, new Snapshot(0, 0, 0)));
+                Counters existing = counters.putIfAbsent(campaignId, counter);
+                seeded.put(campaignId, existing != null ? existing : counter);
+            }
+        }
+        seeds.addAndGet(campaignIds.size());
+        return seeded;
+    }
+
+    private Map<Long, Snapshot> query(List<Long> campaignIds) {
+        Map<Long, Snapshot> result = new HashMap<>();
+        for (Object[] row : campaignTargetRepository.countEventsByCampaignIds(campaignIds)) {
+            result.put(((Number) row[0]).longValue(), new Snapshot(
+                ((Number) row[1]).longValue(), ((Number) row[2]).longValue(), ((Number) row[3]).longValue()));
+        }
+        return result;
+    }
+
+    private static final class Counters {
+
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder read = new LongAdder();
+        private final LongAdder click = new LongAdder();
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        Counters(Snapshot initial) {
+            sent.add(initial.sent());
+            read.add(initial.read());
+            click.add(initial.click());
+        }
+
+        Snapshot snapshot() {
+            return new Snapshot(sent.sum(), read.sum(), click.sum());
+        }
+
+        // 차이만큼 더하여 맞춤 (그 사이의 증가분은 유지), 보정한 절대량 반환
+        long adjustTo(Snapshot actual) {
+            long sentDrift = actual.sent() - sent.sum();
+            long readDrift = actual.read() - read.sum();
+            long clickDrift = actual.click() - click.sum();
+            sent.add(sentDrift);
+            read.add(readDrift);
+            click.add(clickDrift);
+            return Math.abs(sentDrift) + Math.abs(readDrift) + Math.abs(clickDrift);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.kt.campaign.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kt.campaign.config.LiveStatsConfig;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 캠페인 통계 실시간 푸시
+ *
+ * 구독 중인 캠페인마다 pushIntervalMs 주기로 CampaignStatsCounter 값을 읽고(O(1)),
+ * 직전에 보낸 값과 다르면 변경분(delta)과 현재 값을 담은 프레임 하나를 만들어 구독자 모두에게 보냅니다.
+ * 주기 사이의 변경은 한 프레임으로 합쳐지므로 캠페인당 주기마다 최대 한 프레임이며,
+ * 프레임은 캠페인당 한 번만 직렬화하여 구독자들이 공유합니다.
+ *
+ * 전송은 senderThreads 개 스레드가 나누어 맡되, 한 연결에는 한 번에 한 스레드만 씁니다.
+ * - 연결마다 미전송 프레임을 캠페인별 최신 값 하나만 보관 (느린 연결은 중간 프레임을 건너뛰고 최신 값을 받음)
+ * - 이미 쓰는 중인 연결에는 전송 작업을 더 넣지 않으므로, 느린 연결 때문에 다른 연결의 전송이 밀리지 않음
+ * - 쓰기가 sendTimeLimitMs 이상 끝나지 않은 연결은 별도 감시 스레드가 stallCheckIntervalMs 주기로 찾아 종료하여
+ *   붙잡힌 전송 스레드를 풀어 줌 (새 프레임이 없어도 확인하므로 느린 연결이 전송 스레드를 계속 점유하지 못함)
+ * 구독 세션은 ConcurrentWebSocketSessionDecorator(OverflowStrategy.DROP)로 감싸져 있어 연결별 버퍼 한도도 적용됩니다.
+ * 프레임의 delta 값은 직전 주기 대비이므로 건너뛴 프레임이 있으면 합이 맞지 않을 수 있고, 현재 값이 기준입니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Component
+public class CampaignStatsPublisher {
+
+    private final CampaignStatsCounter campaignStatsCounter;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService senders;
+    private final ScheduledExecutorService stallChecker;
+    private final long sendTimeLimitMs;
+
+    // 세션 id → 구독
+    private final ConcurrentHashMap<String, Subscription> sessions = new ConcurrentHashMap<>();
+    // 캠페인 id → 구독 세션들
+    private final ConcurrentHashMap<Long, Set<Subscription>> subscribers = new ConcurrentHashMap<>();
+    // 캠페인 id → 마지막으로 보낸 값 (변경분 계산 기준)
+    private final Map<Long, CampaignStatsCounter.Snapshot> lastPushed = new ConcurrentHashMap<>();
+
+    private final AtomicLong framesBuilt = new AtomicLong();
+    private final AtomicLong framesSent = new AtomicLong();
+    private final AtomicLong sendFailures = new AtomicLong();
+    private final AtomicLong framesSkipped = new AtomicLong();
+    private final AtomicLong stalledClosed = new AtomicLong();
+
+    private static final class Subscription {
+        private final WebSocketSession session;
+        private final List<Long> campaignIds;
+        // 아직 보내지 않은 프레임 (캠페인별 최신 값만)
+        private final ConcurrentHashMap<Long, TextMessage> pending = new ConcurrentHashMap<>();
+        // 전송 스레드가 이 연결을 맡고 있는지
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        private Subscription(WebSocketSession session, List<Long> campaignIds) {
+            this.session = session;
+            this.campaignIds = campaignIds;
+        }
+    }
+
+    public CampaignStatsPublisher(CampaignStatsCounter campaignStatsCounter,
+                                  ObjectMapper objectMapper,
+                                  LiveStatsConfig config) {
+        this.campaignStatsCounter = campaignStatsCounter;
+        this.objectMapper = objectMapper;
+        this.sendTimeLimitMs = config.getSendTimeLimitMs();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(Math.max(1, config.getSenderThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "live-stats-sender-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 종료 요청이 막힌 쓰기 때문에 늦어질 수 있으므로 @Scheduled 공용 스레드가 아닌 전용 스레드에서 확인
+        this.stallChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "live-stats-stall-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(100, config.getStallCheckIntervalMs());
+        stallChecker.scheduleWithFixedDelay(this::closeStalled, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        stallChecker.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    /**
+     * 세션 구독 등록 후 현재 값을 첫 프레임으로 전송 (session 은 버퍼 한도가 있는 데코레이터)
+     */
+    public void subscribe(String sessionId, WebSocketSession session, Collection<Long> campaignIds) {
+        Subscription subscription = new Subscription(session, List.copyOf(campaignIds));
+        sessions.put(sessionId, subscription);
+        Map<Long, CampaignStatsCounter.Snapshot> current = campaignStatsCounter.getAll(subscription.campaignIds);
+        for (Long campaignId : subscription.campaignIds) {
+            subscribers.computeIfAbsent(campaignId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+            CampaignStatsCounter.Snapshot snapshot = current.get(campaignId);
+            if (snapshot != null) {
+                lastPushed.putIfAbsent(campaignId, snapshot);
+            }
+            TextMessage frame = frame(campaignId, snapshot, null);
+            if (frame != null) {
+                enqueue(subscription, campaignId, frame);
+            }
+        }
+    }
+
+    public void unsubscribe(String sessionId) {
+        Subscription subscription = sessions.remove(sessionId);
+        if (subscription == null) {
+            return;
+        }
+        for (Long campaignId : subscription.campaignIds) {
+            subscribers.computeIfPresent(campaignId, (id, set) -> {
+                set.remove(subscription);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    /**
+     * 구독 중인 캠페인의 변경분을 모아 푸시
+     */
+    @Scheduled(fixedDelayString = "${app.live-stats.push-interval-ms:300}",
+               initialDelayString = "${app.live-stats.push-interval-ms:300}")
+    public void push() {
+        lastPushed.keySet().retainAll(subscribers.keySet());
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        try {
+            Map<Long, CampaignStatsCounter.Snapshot> current = campaignStatsCounter.getAll(new ArrayList<>(subscribers.keySet()));
+            for (Map.Entry<Long, CampaignStatsCounter.Snapshot> entry : current.entrySet()) {
+                Long campaignId = entry.getKey();
+                CampaignStatsCounter.Snapshot snapshot = entry.getValue();
+                CampaignStatsCounter.Snapshot previous = lastPushed.put(campaignId, snapshot);
+                if (previous == null || previous.equals(snapshot)) {
+                    // 기준값이 없으면 기록만 (구독 시 현재 값을 이미 보냄)
+                    continue;
+                }
+                TextMessage frame = frame(campaignId, snapshot, previous);
+                Set<Subscription> targets = subscribers.get(campaignId);
+                if (frame == null || targets == null) {
+                    continue;
+                }
+                for (Subscription subscription : targets) {
+                    enqueue(subscription, campaignId, frame);
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Live stats push failed: " + e.getMessage());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("connections", sessions.size());
+        result.put("campaigns", subscribers.size());
+        result.put("framesBuilt", framesBuilt.get());
+        result.put("framesSent", framesSent.get());
+        result.put("sendFailures", sendFailures.get());
+        result.put("framesSkipped", framesSkipped.get());
+        result.put("stalledClosed", stalledClosed.get());
+        return result;
+    }
+
+    // previous 가 null 이면 현재 값만 담은 첫 프레임
+    private TextMessage frame(Long campaignId, CampaignStatsCounter.Snapshot snapshot,
+                              CampaignStatsCounter.Snapshot previous) {
+        if (snapshot == null) {
+            return null;
+        }
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("campaignId", campaignId);
+        payload.put("sent", snapshot.sent());
+        payload.put("read", snapshot.read());
+        payload.put("click", snapshot.click());
+        payload.put("readRate", snapshot.sent() > 0 ? (double) snapshot.read() / snapshot.sent() * 100 : 0);
+        payload.put("clickRate", snapshot.sent() > 0 ? (double) snapshot.click() / snapshot.sent() * 100 : 0);
+        if (previous != null) {
+            payload.put("deltaSent", snapshot.sent() - previous.sent());
+            payload.put("deltaRead", snapshot.read() - previous.read());
+            payload.put("deltaClick", snapshot.click() - previous.click());
+        }
+        payload.put("at", System.currentTimeMillis());
+        try {
+            framesBuilt.incrementAndGet();
+            return new TextMessage(objectMapper.writeValueAsString(payload));
+        } catch (Exception e) {
+            System.err.println("Live stats frame serialization failed: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // 연결의 미전송 프레임 갱신 후, 이 연결을 맡은 전송 스레드가 없을 때만 전송 작업 등록
+    private void enqueue(Subscription subscription, Long campaignId, TextMessage frame) {
+        if (subscription.pending.put(campaignId, frame) != null) {
+            framesSkipped.incrementAndGet();
+        }
+        if (subscription.sending.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscription));
+        }
+    }
+
+    // 미전송 프레임을 모두 보낸 뒤 담당 해제, 그 사이 새 프레임이 들어왔으면 다시 맡아서 보냄
+    private void drain(Subscription subscription) {
+        do {
+            for (Long campaignId : subscription.pending.keySet()) {
+                TextMessage frame = subscription.pending.remove(campaignId);
+                if (frame != null) {
+                    send(subscription, frame);
+                }
+            }
+            subscription.sending.set(false);
+        } while (!subscription.pending.isEmpty() && subscription.sending.compareAndSet(false, true));
+    }
+
+    // 전송 중인 연결 중 쓰기가 막힌 연결 종료
+    private void closeStalled() {
+        try {
+            for (Subscription subscription : sessions.values()) {
+                if (subscription.sending.get()) {
+                    closeIfStalled(subscription);
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Live stats stall check failed: " + e.getMessage());
+        }
+    }
+
+    // 한 번의 쓰기가 sendTimeLimitMs 를 넘긴 연결은 종료 (막힌 쓰기가 실패하면서 전송 스레드가 풀림)
+    private void closeIfStalled(Subscription subscription) {
+        if (subscription.session instanceof ConcurrentWebSocketSessionDecorator decorator
+                && decorator.getTimeSinceSendStarted() > sendTimeLimitMs && decorator.isOpen()) {
+            try {
+                stalledClosed.incrementAndGet();
+                decorator.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (Exception e) {
+                System.err.println("Live stats stalled session close failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void send(Subscription subscription, TextMessage frame) {
+        WebSocketSession session = subscription.session;
+        if (!session.isOpen()) {
+            subscription.pending.clear();
+            return;
+        }
+        try {
+            session.sendMessage(frame);
+            framesSent.incrementAndGet();
+        } catch (Exception e) {
+            // 쓰기 시간 초과 등 - 연결이 닫히면 afterConnectionClosed 에서 구독 해제
+            sendFailures.incrementAndGet();
+        }
+    }
+}
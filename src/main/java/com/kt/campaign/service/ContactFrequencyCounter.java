@@ -0,0 +1,322 @@
+package com.kt.campaign.service;
+
+import com.kt.campaign.config.FrequencyCapConfig;
+import com.kt.campaign.repository.CampaignTargetRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 캠페인 간 고객별 수신 횟수 카운터 (빈도 제한용)
+ *
+ * 최근 windowHours 시간을 1시간 버킷으로 나누고, 버킷마다 고객 id 를 인덱스로 하는 byte 배열 하나를 둡니다.
+ * 고객별 합계 배열과 한도 도달 고객 비트맵(capped)을 함께 유지합니다.
+ * - 조회: count 는 합계 배열 한 칸, capped 는 유지 중인 비트맵을 그대로 반환하므로 스캔과 객체 할당이 없습니다.
+ * - 기록: 해당 시간 버킷 칸과 합계를 1 증가 (버킷 칸은 255 에서 포화), 합계가 한도에 닿으면 capped 에 추가
+ * - 만료: 시간이 바뀌면 구간을 벗어난 버킷을 합계에서 빼고 비우며, 한도 아래로 내려간 고객은 capped 에서 제거
+ * - 메모리: 고객 100만 명, 24시간 기준 약 26MB
+ *
+ * 대상자 생성 트랜잭션이 커밋된 뒤에만 수신 예정 고객을 기록하므로, 롤백되거나 재시도된 작업은 세지 않습니다.
+ * 시작 시와 reloadIntervalMs 주기로 campaign_targets 의 최근 발송/대기 이력으로 다시 만들며,
+ * 재구성 중에 기록된 증분은 새 카운터에 다시 적용한 뒤 교체합니다. 다른 노드에서 생성된 대상자는 재적재 때 반영됩니다.
+ *
+ * 쓰기는 이 객체 모니터로 직렬화하고, 읽기는 잠금 없이 수행합니다 (capped 는 변경 시 사본을 교체하여 게시).
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Component
+public class ContactFrequencyCounter {
+
+    private static final long HOUR_MS = TimeUnit.HOURS.toMillis(1);
+
+    private final CampaignTargetRepository campaignTargetRepository;
+    private final FrequencyCapConfig config;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Window window;
+    // 재구성 중 기록된 증분 (재구성 중이 아니면 null, 모니터 안에서만 접근)
+    private List<Increment> duringReload;
+
+    private record Increment(RoaringBitmap customerIds, long hour) {
+    }
+
+    public ContactFrequencyCounter(CampaignTargetRepository campaignTargetRepository,
+                                   FrequencyCapConfig config,
+                                   PlatformTransactionManager transactionManager) {
+        this.campaignTargetRepository = campaignTargetRepository;
+        this.config = config;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.window = new Window(Math.max(1, config.getWindowHours()), 0, config.getMaxMessages());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    /**
+     * 최근 windowHours 시간의 발송 완료/대기 대상자로 카운터 재구성 후 교체
+     * 재구성 쿼리 시작 직전에 커밋되어 조회 결과에도 포함된 증분은 다음 재적재까지 두 번 세어질 수 있으며,
+     * 이 경우에도 한도보다 일찍 제외될 뿐 한도를 넘겨 발송하지는 않습니다.
+     */
+    @Scheduled(fixedDelayString = "${app.frequency-cap.reload-interval-ms:300000}",
+               initialDelayString = "${app.frequency-cap.reload-interval-ms:300000}")
+    public void reload() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        synchronized (this) {
+            duringReload = new ArrayList<>();
+        }
+        try {
+            int hours = Math.max(1, config.getWindowHours());
+            long nowHour = currentHour();
+            Window rebuilt = new Window(hours, window.capacity(), config.getMaxMessages());
+            long contacts = transactionTemplate.execute(status -> {
+                long count = 0;
+                try (Stream<Object[]> rows = campaignTargetRepository.streamRecentContacts(hours)) {
+                    for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                        rebuilt.increment(((Number) row[0]).intValue(), ((Number) row[1]).longValue(), nowHour);
+                        count++;
+                    }
+                }
+                return count;
+            });
+            int replayed;
+            synchronized (this) {
+                replayed = duringReload.size();
+                long current = currentHour();
+                rebuilt.advance(current);
+                for (Increment increment : duringReload) {
+                    increment.customerIds().forEach((int id) -> rebuilt.increment(id, increment.hour(), current));
+                }
+                rebuilt.publish();
+                window = rebuilt;
+            }
+            System.out.println("Contact frequency counter loaded: " + contacts + " contacts, replayed "
+                + replayed + " batches in " + (System.currentTimeMillis() - started) + "ms");
+        } catch (Exception e) {
+            System.err.println("Contact frequency counter reload failed: " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                duringReload = null;
+            }
+        }
+    }
+
+    /**
+     * 대상자로 확정된 고객들의 수신 1회 기록 (현재 시간 버킷)
+     * 트랜잭션 안에서 호출되면 커밋 후에 기록하고, 롤백되면 기록하지 않습니다.
+     */
+    public void recordAfterCommit(RoaringBitmap customerIds) {
+        if (!config.isEnabled() || customerIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recordAll(customerIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recordAll(customerIds);
+            }
+        });
+    }
+
+    private void recordAll(RoaringBitmap customerIds) {
+        long nowHour = currentHour();
+        synchronized (this) {
+            Window current = window;
+            current.advance(nowHour);
+            customerIds.forEach((int id) -> current.increment(id, nowHour, nowHour));
+            current.publish();
+            if (duringReload != null) {
+                duringReload.add(new Increment(customerIds, nowHour));
+            }
+        }
+    }
+
+    /**
+     * 최근 windowHours 시간 동안의 수신 횟수
+     */
+    public int count(long customerId) {
+        return advanced().count((int) customerId);
+    }
+
+    /**
+     * 수신 한도에 도달한 고객 id 집합 (제한 미사용 시 빈 집합)
+     * 유지 중인 비트맵을 그대로 반환하므로 호출 측은 수정하지 않아야 합니다.
+     */
+    public RoaringBitmap capped() {
+        if (!config.isEnabled()) {
+            return new RoaringBitmap();
+        }
+        return advanced().capped();
+    }
+
+    public Map<String, Object> stats() {
+        Window current = advanced();
+        Map<String, Object> result = new HashMap<>();
+        result.put("enabled", config.isEnabled());
+        result.put("maxMessages", config.getMaxMessages());
+        result.put("windowHours", current.hours());
+        result.put("capacity", current.capacity());
+        result.put("capped", current.capped().getCardinality());
+        return result;
+    }
+
+    // 시간이 바뀌었으면 만료된 버킷을 먼저 정리 (시간당 한 번만 모니터 진입)
+    private Window advanced() {
+        Window current = window;
+        long nowHour = currentHour();
+        if (current.advancedHour() < nowHour) {
+            synchronized (this) {
+                current = window;
+                current.advance(nowHour);
+                current.publish();
+            }
+        }
+        return current;
+    }
+
+    private static long currentHour() {
+        return System.currentTimeMillis() / HOUR_MS;
+    }
+
+    /**
+     * 시간 버킷 배열 묶음 - 버킷 b 는 epoch 시간 slotHour[b] 의 고객별 수신 횟수
+     * totals 는 유효한 버킷의 고객별 합계, cappedWorking 은 합계가 limit 이상인 고객 (쓰기 스레드 전용)
+     */
+    private static final class Window {
+
+        private final byte[][] slots;
+        private final long[] slotHour;
+        private final int limit;
+        private volatile short[] totals;
+        private final RoaringBitmap cappedWorking = new RoaringBitmap();
+        private boolean cappedChanged = false;
+        private volatile RoaringBitmap cappedPublished = new RoaringBitmap();
+        private volatile long advancedHour = -1;
+
+        Window(int hours, int capacity, int limit) {
+            this.slots = new byte[hours][capacity];
+            this.slotHour = new long[hours];
+            this.limit = Math.max(1, limit);
+            this.totals = new short[capacity];
+            Arrays.fill(slotHour, -1);
+        }
+
+        int hours() {
+            return slots.length;
+        }
+
+        int capacity() {
+            return totals.length;
+        }
+
+        long advancedHour() {
+            return advancedHour;
+        }
+
+        RoaringBitmap capped() {
+            return cappedPublished;
+        }
+
+        int count(int id) {
+            short[] current = totals;
+            return id >= 0 && id < current.length ? current[id] : 0;
+        }
+
+        // 쓰기 스레드 전용 - 구간을 벗어난 버킷을 합계에서 빼고 비움
+        void advance(long nowHour) {
+            if (advancedHour >= nowHour) {
+                return;
+            }
+            for (int slot = 0; slot < slots.length; slot++) {
+                if (slotHour[slot] >= 0 && slotHour[slot] <= nowHour - slots.length) {
+                    expire(slot);
+                }
+            }
+            advancedHour = nowHour;
+        }
+
+        // 쓰기 스레드 전용 (ContactFrequencyCounter 모니터 또는 재구성 중인 새 Window), advance(nowHour) 이후 호출
+        void increment(int id, long hour, long nowHour) {
+            if (id < 0 || hour <= nowHour - slots.length || hour > nowHour) {
+                return;
+            }
+            int slot = (int) (hour % slots.length);
+            if (slotHour[slot] != hour) {
+                if (slotHour[slot] > hour) {
+                    return;
+                }
+                if (slotHour[slot] >= 0) {
+                    expire(slot);
+                }
+                slotHour[slot] = hour;
+            }
+            if (id >= totals.length) {
+                grow(id + 1);
+            }
+            byte[] counts = slots[slot];
+            if (counts[id] != (byte) 0xFF) {
+                counts[id]++;
+                if (++totals[id] == limit) {
+                    cappedWorking.add(id);
+                    cappedChanged = true;
+                }
+            }
+        }
+
+        // 쓰기 스레드 전용 - 변경이 있으면 capped 사본 게시
+        void publish() {
+            if (cappedChanged) {
+                cappedPublished = cappedWorking.clone();
+                cappedChanged = false;
+            }
+        }
+
+        private void expire(int slot) {
+            byte[] counts = slots[slot];
+            for (int id = 0; id < counts.length; id++) {
+                int value = counts[id] & 0xFF;
+                if (value == 0) {
+                    continue;
+                }
+                int before = totals[id];
+                totals[id] = (short) (before - value);
+                if (before >= limit && totals[id] < limit) {
+                    cappedWorking.remove(id);
+                    cappedChanged = true;
+                }
+            }
+            Arrays.fill(counts, (byte) 0);
+            slotHour[slot] = -1;
+        }
+
+        private void grow(int minCapacity) {
+            int capacity = Math.max(minCapacity, capacity() + (capacity() >> 1) + 1024);
+            for (int slot = 0; slot < slots.length; slot++) {
+                slots[slot] = Arrays.copyOf(slots[slot], capacity);
+            }
+            totals = Arrays.copyOf(totals, capacity);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.kt.campaign.service;
+
+import com.kt.campaign.entity.Customer;
+
+/**
+ * 관리자 고객 생성/수정/삭제 이벤트
+ *
+ * 고객 데이터를 메모리에 보관하는 인덱스와 캐시들이 이 이벤트를 구독하여 동기화합니다.
+ * 변경 전(before)과 변경 후(after) 타겟팅 속성을 함께 전달하므로, 구독자는 두 상태 중
+ * 하나라도 영향을 받는 항목만 골라서 갱신할 수 있습니다.
+ *
+ * - 생성: before 가 null
+ * - 삭제: after 가 null
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+public record CustomerChangedEvent(Long customerId, Snapshot before, Snapshot after) {
+
+    /**
+     * 타겟팅 조건에 사용되는 고객 속성 스냅샷
+     */
+    public record Snapshot(String gender, String sido, String sigungu, Integer birthYear, Double lat, Double lng) {
+
+        public static Snapshot of(Customer customer) {
+            return new Snapshot(customer.getGender(), customer.getSido(), customer.getSigungu(),
+                customer.getBirthYear(), customer.getLat(), customer.getLng());
+        }
+    }
+
+    public static CustomerChangedEvent created(Customer customer) {
+        return new CustomerChangedEvent(customer.getId(), null, Snapshot.of(customer));
+    }
+
+    public static CustomerChangedEvent updated(Snapshot before, Customer customer) {
+        return new CustomerChangedEvent(customer.getId(), before, Snapshot.of(customer));
+    }
+
+    public static CustomerChangedEvent deleted(Long customerId, Snapshot before) {
+        return new CustomerChangedEvent(customerId, before, null);
+    }
+
+    public boolean isDeleted() {
+        return after == null;
+    }
+}
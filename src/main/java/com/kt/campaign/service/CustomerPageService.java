@@ -0,0 +1,63 @@
+package com.kt.campaign.service;
+
+import com.kt.campaign.entity.CampaignFilter;
+import com.kt.campaign.entity.Customer;
+import com.kt.campaign.repository.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 고객 목록 키셋(커서) 페이지 조회
+ *
+ * 관리자 고객 목록과 캠페인 생성용 고객 목록이 같은 방식으로 다음 페이지를 조회합니다.
+ * - id > after 인 고객을 id 순으로 size 건 (한 건 더 읽어 hasNext 판단, COUNT 없음)
+ * - total = none(기본) | estimate(인덱스 기반 추정, estimatedTotal) | exact(COUNT 쿼리, totalElements)
+ *
+ * 고객 항목 형태는 화면마다 노출 범위가 다르므로 호출 측이 변환 함수로 넘깁니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Service
+@RequiredArgsConstructor
+public class CustomerPageService {
+
+    private static final List<String> TOTAL_MODES = List.of("none", "estimate", "exact");
+
+    private final CustomerRepository customerRepository;
+    private final AudienceIndex audienceIndex;
+
+    /**
+     * total 파라미터 검증 - none, estimate, exact 외의 값은 IllegalArgumentException
+     */
+    public static void checkTotal(String total) {
+        if (!TOTAL_MODES.contains(total)) {
+            throw new IllegalArgumentException("total 은 none, estimate, exact 중 하나여야 합니다: " + total);
+        }
+    }
+
+    public Map<String, Object> keysetPage(CampaignFilter filter, Long after, int size, String total,
+                                          Function<Customer, Map<String, Object>> toDto) {
+        checkTotal(total);
+        // 한 건 더 조회하여 다음 페이지 존재 여부 판단
+        List<Customer> rows = customerRepository.findByFilterAfter(filter, after, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<Customer> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("customers", pageRows.stream().map(toDto).collect(Collectors.toList()));
+        response.put("hasNext", hasNext);
+        response.put("nextCursor", pageRows.isEmpty() ? null : pageRows.get(pageRows.size() - 1).getId());
+        if ("exact".equals(total)) {
+            response.put("totalElements", customerRepository.countByFilter(filter));
+        } else if ("estimate".equals(total)) {
+            response.put("estimatedTotal", audienceIndex.estimateCount(filter));
+        }
+        return response;
+    }
+}
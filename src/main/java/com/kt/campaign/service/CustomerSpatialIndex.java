@@ -0,0 +1,218 @@
+package com.kt.campaign.service;
+
+import com.kt.campaign.repository.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * 반경 타겟팅용 인메모리 고객 좌표 격자 인덱스
+ *
+ * 위경도를 고정 크기 격자 셀(약 1km)로 나누어 셀마다 고객 ID 비트맵을 보관합니다.
+ * 반경 조회는 원을 감싸는 셀만 조회한 뒤, 원 안에 완전히 포함된 셀은 통째로 채택하고
+ * 경계 셀의 고객만 하버사인 거리로 정확히 검사합니다. DB 왕복이 필요 없습니다.
+ *
+ * 좌표는 고객 ID를 인덱스로 하는 float 배열에 보관합니다 (정밀도 1m 이내).
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomerSpatialIndex {
+
+    private static final double CELL_DEGREES = 0.01;
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private final CustomerRepository customerRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, RoaringBitmap> cells = new HashMap<>();
+    private float[] lats = new float[0];
+    private float[] lngs = new float[0];
+
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            cells.clear();
+            lats = new float[0];
+            lngs = new float[0];
+            try (Stream<Object[]> rows = customerRepository.streamCoordinates()) {
+                rows.forEach(row -> add(toIndexId((Long) row[0]), (Double) row[1], (Double) row[2]));
+            }
+            cells.values().forEach(RoaringBitmap::runOptimize);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("Spatial index loaded: " + cells.size() + " cells in "
+            + (System.currentTimeMillis() - started) + "ms");
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        int id = toIndexId(event.customerId());
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            CustomerChangedEvent.Snapshot customer = event.after();
+            if (!event.isDeleted() && customer.lat() != null && customer.lng() != null) {
+                add(id, customer.lat(), customer.lng());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 중심점에서 radiusMeters 이내의 고객 ID 비트맵
+     */
+    public RoaringBitmap within(double centerLat, double centerLng, int radiusMeters) {
+        double latSpan = Math.toDegrees(radiusMeters / EARTH_RADIUS_METERS);
+        double lngSpan = latSpan / Math.max(Math.cos(Math.toRadians(centerLat)), 1e-6);
+
+        int minLatCell = cellOf(centerLat - latSpan);
+        int maxLatCell = cellOf(centerLat + latSpan);
+        int minLngCell = cellOf(centerLng - lngSpan);
+        int maxLngCell = cellOf(centerLng + lngSpan);
+
+        RoaringBitmap result = new RoaringBitmap();
+        lock.readLock().lock();
+        try {
+            for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+                for (int lngCell = minLngCell; lngCell <= maxLngCell; lngCell++) {
+                    RoaringBitmap cell = cells.get(cellKey(latCell, lngCell));
+                    if (cell == null) {
+                        continue;
+                    }
+                    if (cellInsideCircle(latCell, lngCell, centerLat, centerLng, radiusMeters)) {
+                        result.or(cell);
+                        continue;
+                    }
+                    cell.forEach((int id) -> {
+                        if (distanceMeters(centerLat, centerLng, lats[id], lngs[id]) <= radiusMeters) {
+                            result.add(id);
+                        }
+                    });
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * customerIds 중 중심점에서 radiusMeters 이내인 고객 ID (좌표가 없는 고객 제외, 작은 집합용)
+     */
+    public RoaringBitmap within(RoaringBitmap customerIds, double centerLat, double centerLng, int radiusMeters) {
+        RoaringBitmap result = new RoaringBitmap();
+        lock.readLock().lock();
+        try {
+            float[] latitudes = lats;
+            float[] longitudes = lngs;
+            customerIds.forEach((int id) -> {
+                if (id < latitudes.length && !Float.isNaN(latitudes[id])
+                    && distanceMeters(centerLat, centerLng, latitudes[id], longitudes[id]) <= radiusMeters) {
+                    result.add(id);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * 하버사인 거리 (미터)
+     */
+    public static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+            * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    // 원은 볼록하므로 셀의 네 꼭짓점이 모두 원 안이면 셀 전체가 원 안
+    private static boolean cellInsideCircle(int latCell, int lngCell, double centerLat, double centerLng, int radiusMeters) {
+        double south = latCell * CELL_DEGREES;
+        double north = south + CELL_DEGREES;
+        double west = lngCell * CELL_DEGREES;
+        double east = west + CELL_DEGREES;
+        return distanceMeters(centerLat, centerLng, south, west) <= radiusMeters
+            && distanceMeters(centerLat, centerLng, south, east) <= radiusMeters
+            && distanceMeters(centerLat, centerLng, north, west) <= radiusMeters
+            && distanceMeters(centerLat, centerLng, north, east) <= radiusMeters;
+    }
+
+    private void add(int id, double lat, double lng) {
+        ensureCapacity(id);
+        lats[id] = (float) lat;
+        lngs[id] = (float) lng;
+        // 삭제 시 저장된 float 좌표로 셀을 다시 계산하므로 추가도 같은 값 기준
+        cells.computeIfAbsent(cellKey(cellOf(lats[id]), cellOf(lngs[id])), k -> new RoaringBitmap()).add(id);
+    }
+
+    private void removeInternal(int id) {
+        if (id >= lats.length || Float.isNaN(lats[id])) {
+            return;
+        }
+        long key = cellKey(cellOf(lats[id]), cellOf(lngs[id]));
+        RoaringBitmap cell = cells.get(key);
+        if (cell != null) {
+            cell.remove(id);
+            if (cell.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+        lats[id] = Float.NaN;
+        lngs[id] = Float.NaN;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < lats.length) {
+            return;
+        }
+        int oldLength = lats.length;
+        int newLength = Math.max(id + 1, Math.max(1024, oldLength * 2));
+        lats = Arrays.copyOf(lats, newLength);
+        lngs = Arrays.copyOf(lngs, newLength);
+        Arrays.fill(lats, oldLength, newLength, Float.NaN);
+        Arrays.fill(lngs, oldLength, newLength, Float.NaN);
+    }
+
+    private static int cellOf(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long cellKey(int latCell, int lngCell) {
+        return ((long) latCell << 32) | (lngCell & 0xFFFFFFFFL);
+    }
+
+    private static int toIndexId(Long customerId) {
+        return Math.toIntExact(customerId);
+    }
+}
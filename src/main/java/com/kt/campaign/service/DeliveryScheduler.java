@@ -0,0 +1,130 @@
+package com.kt.campaign.service;
+
+import com.kt.campaign.config.DeliverySchedulerConfig;
+import com.kt.campaign.entity.CampaignSendJob;
+import com.kt.campaign.repository.CampaignSendJobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 발송 속도 제한 및 캠페인 간 공정 분배 스케줄러
+ *
+ * 속도 제한:
+ * - 게이트웨이별, 발신 사용자(테넌트)별 토큰 버킷을 두고 배치 제출 전에 두 버킷에서 모두 예약합니다.
+ *   테넌트 버킷을 먼저 예약해 대기를 마친 뒤 게이트웨이 버킷을 예약하므로, 자기 한도를 넘은 테넌트가
+ *   당장 쓰지 못할 게이트웨이 토큰을 미리 잡아 다른 테넌트의 처리량을 깎지 않습니다.
+ * - 버킷은 CAS 한 번으로 예약하는 TokenBucket 이므로 워커 스레드가 잠금을 두고 경합하지 않습니다.
+ * - 한도는 노드 단위이며, 여러 노드를 운영하면 노드 수로 나눈 값을 설정합니다.
+ *
+ * 공정 분배 (start-time fair queuing):
+ * - DELIVER 작업마다 가상 시작 시각 virtualStart = V + k / weight 를 부여합니다.
+ *   (V: 현재 대기 작업의 최소 가상 시각, k: 캠페인 내 청크 순번, weight: 사용자 가중치)
+ * - 워커는 virtualStart 순으로 작업을 가져가므로 큰 캠페인이 먼저 대기열을 채워도
+ *   나중에 들어온 캠페인의 청크가 번갈아 처리되고, 가중치에 비례해 처리량을 나눠 갖습니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Component
+@RequiredArgsConstructor
+public class DeliveryScheduler {
+
+    private final DeliverySchedulerConfig config;
+    private final CampaignSendJobRepository campaignSendJobRepository;
+
+    private final Map<String, TokenBucket> gatewayBuckets = new ConcurrentHashMap<>();
+    private final Map<Long, TokenBucket> tenantBuckets = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    // 통계 조회 간 처리량 계산용 직전 값
+    private final Map<String, long[]> lastSnapshot = new ConcurrentHashMap<>();
+
+    /**
+     * 배치 제출 전 테넌트 토큰 예약 후 대기, 이어서 게이트웨이 토큰 예약 후 대기
+     */
+    public void acquire(String gateway, Long tenantId, int permits) throws InterruptedException {
+        await(tenantBucket(tenantId).reserve(permits));
+        await(gatewayBucket(gateway).reserve(permits));
+    }
+
+    private void await(long wait) throws InterruptedException {
+        if (wait <= 0) {
+            return;
+        }
+        waiting.incrementAndGet();
+        try {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    public double weightOf(Long tenantId) {
+        Double weight = config.getTenantWeights().get(tenantId);
+        return weight != null && weight > 0 ? weight : config.getDefaultWeight();
+    }
+
+    /**
+     * 새 캠페인 DELIVER 작업의 가상 시작 기준 V (대기 중인 DELIVER 작업의 최소 가상 시각)
+     */
+    public double currentVirtualTime() {
+        Double min = campaignSendJobRepository.findMinQueuedVirtualStart();
+        return min != null ? min : 0.0;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> gateways = new HashMap<>();
+        gatewayBuckets.forEach((name, bucket) -> gateways.put(name, bucketStats("gateway:" + name, bucket)));
+        Map<String, Object> tenants = new HashMap<>();
+        tenantBuckets.forEach((id, bucket) -> tenants.put(String.valueOf(id), bucketStats("tenant:" + id, bucket)));
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("gateways", gateways);
+        result.put("tenants", tenants);
+        result.put("waitingBatches", waiting.get());
+        result.put("queuedJobs", campaignSendJobRepository.countByStatus(CampaignSendJob.Status.QUEUED));
+        result.put("queuedJobsByCampaign", queuedJobsByCampaign());
+        return result;
+    }
+
+    private TokenBucket gatewayBucket(String gateway) {
+        return gatewayBuckets.computeIfAbsent(gateway,
+            k -> new TokenBucket(config.getGatewayTps(), config.getGatewayBurst()));
+    }
+
+    private TokenBucket tenantBucket(Long tenantId) {
+        return tenantBuckets.computeIfAbsent(tenantId,
+            k -> new TokenBucket(config.getTenantTps(), config.getTenantBurst()));
+    }
+
+    // 직전 통계 조회 이후 실제 초당 제출 수
+    private Map<String, Object> bucketStats(String key, TokenBucket bucket) {
+        long now = System.nanoTime();
+        long granted = bucket.getGranted();
+        long[] previous = lastSnapshot.put(key, new long[]{now, granted});
+        double rate = 0.0;
+        if (previous != null && now > previous[0]) {
+            rate = (granted - previous[1]) * 1_000_000_000.0 / (now - previous[0]);
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("limitTps", bucket.getTps());
+        stats.put("burst", bucket.getBurst());
+        stats.put("granted", granted);
+        stats.put("currentTps", rate);
+        return stats;
+    }
+
+    private Map<Long, Long> queuedJobsByCampaign() {
+        Map<Long, Long> depth = new HashMap<>();
+        for (Object[] row : campaignSendJobRepository.countQueuedByCampaign()) {
+            depth.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        return depth;
+    }
+}
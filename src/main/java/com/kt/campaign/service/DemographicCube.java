@@ -0,0 +1,95 @@
+package com.kt.campaign.service;
+
+import com.kt.campaign.repository.DemographicCubeRepository;
+import com.kt.campaign.repository.DemographicCubeRepository.Cell;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 연령대 × 성별 대상자 분포 조회
+ *
+ * 대시보드와 캠페인 통계는 미리 채워진 분포 테이블만 읽으며(연령대 × 성별 칸 수만큼),
+ * 조회 경로에서 대상자 목록을 읽거나 데이터를 만들지 않습니다.
+ * 시작 시 분포가 비어 있으면(도입 직후) 원본 대상자로 한 번 채웁니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Component
+public class DemographicCube {
+
+    private static final int[] AGE_BANDS = {20, 30, 40, 50, 60};
+
+    private final DemographicCubeRepository demographicCubeRepository;
+
+    public DemographicCube(DemographicCubeRepository demographicCubeRepository) {
+        this.demographicCubeRepository = demographicCubeRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            if (demographicCubeRepository.isEmpty()) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            System.err.println("Demographic cube backfill failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 원본 대상자로 캠페인/사용자 분포 재계산
+     */
+    public Map<String, Object> rebuild() {
+        long started = System.currentTimeMillis();
+        int rows = demographicCubeRepository.rebuild();
+        long elapsed = System.currentTimeMillis() - started;
+        System.out.println("Demographic cube rebuilt: " + rows + " campaign rows in " + elapsed + "ms");
+        Map<String, Object> result = new HashMap<>();
+        result.put("rows", rows);
+        result.put("elapsedMs", elapsed);
+        return result;
+    }
+
+    /**
+     * 사용자의 완료 캠페인 대상자 분포 - 항목: name(20대..60대), male, female
+     */
+    public List<Map<String, Object>> userDistribution(Long userId) {
+        return toDistribution(demographicCubeRepository.findByUserId(userId));
+    }
+
+    /**
+     * 캠페인 대상자 분포 - 항목 형식은 userDistribution 과 같음
+     */
+    public List<Map<String, Object>> campaignDistribution(Long campaignId) {
+        return toDistribution(demographicCubeRepository.findByCampaignId(campaignId));
+    }
+
+    // 프론트엔드가 기대하는 형태 (각 나이대마다 male, female 값 포함, 없는 칸은 0)
+    private static List<Map<String, Object>> toDistribution(List<Cell> cells) {
+        long[] male = new long[AGE_BANDS.length];
+        long[] female = new long[AGE_BANDS.length];
+        for (Cell cell : cells) {
+            int band = (Math.min(Math.max(cell.ageBand(), 20), 60) - 20) / 10;
+            if ("M".equals(cell.gender())) {
+                male[band] += cell.count();
+            } else if ("F".equals(cell.gender())) {
+                female[band] += cell.count();
+            }
+        }
+        List<Map<String, Object>> distribution = new ArrayList<>(AGE_BANDS.length);
+        for (int i = 0; i < AGE_BANDS.length; i++) {
+            Map<String, Object> ageData = new HashMap<>();
+            ageData.put("name", AGE_BANDS[i] + "대");
+            ageData.put("male", male[i]);
+            ageData.put("female", female[i]);
+            distribution.add(ageData);
+        }
+        return distribution;
+    }
+}
@@ -0,0 +1,196 @@
+package com.kt.campaign.service;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 해시 타이밍 휠 - 대량의 지연 작업을 O(1) 로 등록/실행하는 타이머
+ *
+ * 시간을 tickMs 단위 칸(wheelSize 개, 2의 거듭제곱)으로 나눈 원형 배열에 작업을 넣습니다.
+ * 작업은 만료 칸 = (만료 tick & mask) 에, 남은 회전 수 = (만료 tick - 현재 tick) / wheelSize 와 함께 들어가고,
+ * 틱 스레드는 매 tick 현재 칸 하나만 훑어 회전 수가 0 인 작업을 실행합니다.
+ * 우선순위 큐(O(log n))와 달리 등록/취소/실행이 모두 작업 수와 무관한 상수 비용입니다.
+ *
+ * - 다른 스레드의 등록은 잠금 없는 큐에 넣고 틱 스레드가 tick 마다 칸으로 옮기므로 칸 목록은 틱 스레드만 수정합니다.
+ * - 실행 정밀도는 tickMs 이며, 작업은 틱 스레드에서 실행되므로 오래 걸리는 작업은 별도 실행기로 넘겨야 합니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+public class HashedTimingWheel {
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startNanos = System.nanoTime();
+
+    private final Queue<Timeout> registrations = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Thread worker;
+    private volatile boolean running = false;
+
+    // 틱 스레드 전용
+    private long tick = 0;
+
+    public HashedTimingWheel(String name, long tickMs, int wheelSize) {
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickMs));
+        int size = Integer.highestOneBit(Math.max(2, wheelSize) * 2 - 1);
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        worker.start();
+    }
+
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    /**
+     * delayMs 후 task 실행 등록 (0 이하이면 다음 tick 에 실행)
+     */
+    public Timeout schedule(Runnable task, long delayMs) {
+        long deadline = System.nanoTime() - startNanos + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMs));
+        Timeout timeout = new Timeout(task, deadline);
+        pending.incrementAndGet();
+        registrations.add(timeout);
+        return timeout;
+    }
+
+    // 등록 후 아직 실행/취소되지 않은 작업 수
+    public int pending() {
+        return pending.get();
+    }
+
+    public int wheelSize() {
+        return wheel.length;
+    }
+
+    private void run() {
+        while (running) {
+            if (!waitForNextTick()) {
+                return;
+            }
+            transferRegistrations();
+            wheel[(int) (tick & mask)].expire();
+            tick++;
+        }
+    }
+
+    private boolean waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        long now;
+        while ((now = System.nanoTime() - startNanos) < deadline) {
+            LockSupport.parkNanos(this, deadline - now);
+            if (!running) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void transferRegistrations() {
+        Timeout timeout;
+        while ((timeout = registrations.poll()) != null) {
+            if (timeout.isDone()) {
+                continue;
+            }
+            long expiryTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = Math.max(0, (expiryTick - tick) / wheel.length);
+            // 이미 지난 작업은 현재 칸에 넣어 이번 tick 에 실행
+            wheel[(int) (Math.max(expiryTick, tick) & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * 등록된 작업 핸들 - cancel() 은 표시만 하고 칸에서는 해당 칸 처리 시 제거됩니다.
+     */
+    public final class Timeout {
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private long remainingRounds;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public boolean cancel() {
+            if (!done.compareAndSet(false, true)) {
+                return false;
+            }
+            pending.decrementAndGet();
+            return true;
+        }
+
+        // 실행되었거나 취소됨
+        public boolean isDone() {
+            return done.get();
+        }
+
+        private void expire() {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            pending.decrementAndGet();
+            try {
+                task.run();
+            } catch (Exception e) {
+                System.err.println("Timing wheel task failed: " + e.getMessage());
+            }
+        }
+    }
+
+    // 한 칸의 단일 연결 리스트 (틱 스레드만 접근)
+    private static final class Bucket {
+
+        private Timeout head;
+
+        void add(Timeout timeout) {
+            timeout.next = head;
+            head = timeout;
+        }
+
+        void expire() {
+            Timeout previous = null;
+            Timeout current = head;
+            while (current != null) {
+                Timeout next = current.next;
+                boolean remove;
+                if (current.done.get()) {
+                    remove = true;
+                } else if (current.remainingRounds > 0) {
+                    current.remainingRounds--;
+                    remove = false;
+                } else {
+                    current.expire();
+                    remove = true;
+                }
+                if (remove) {
+                    if (previous == null) {
+                        head = next;
+                    } else {
+                        previous.next = next;
+                    }
+                } else {
+                    previous = current;
+                }
+                current = next;
+            }
+        }
+    }
+}
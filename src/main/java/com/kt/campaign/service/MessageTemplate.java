@@ -0,0 +1,171 @@
+package com.kt.campaign.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 수신자별 문자 본문 템플릿
+ *
+ * 캠페인 본문을 한 번만 컴파일하여 고정 문자열 조각과 치환 필드의 배열로 보관하고,
+ * 수신자마다 재사용 StringBuilder 에 조각을 순서대로 이어 붙여 렌더링합니다.
+ * 렌더링 시 정규식, String.format, 문자열 검색이 없고 최종 본문 String 하나만 만듭니다.
+ *
+ * 지원 필드:
+ * - {name}: 고객 이름
+ * - {sigungu}: 고객 시군구
+ * - {link}: 캠페인 링크 (추적 사용 시 수신자별 클릭 추적 링크)
+ *
+ * 알 수 없는 {..} 는 그대로 출력하며, 값이 없는 필드는 빈 문자열로 치환합니다.
+ * 본문에 {link} 가 없고 링크가 있으면 본문 끝에 줄바꿈과 함께 링크를 붙여, 모든 발송 본문에 링크가 들어가게 합니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+public final class MessageTemplate {
+
+    private static final byte LITERAL = 0;
+    private static final byte NAME = 1;
+    private static final byte SIGUNGU = 2;
+    private static final byte LINK = 3;
+
+    // kinds[i] 가 LITERAL 이면 literals[i] 출력, 아니면 해당 필드 값 출력
+    private final byte[] kinds;
+    private final String[] literals;
+    private final int literalLength;
+    // 치환 필드가 없으면 모든 수신자에게 같은 본문
+    private final String staticText;
+
+    private MessageTemplate(byte[] kinds, String[] literals) {
+        this.kinds = kinds;
+        this.literals = literals;
+        int length = 0;
+        boolean hasFields = false;
+        for (int i = 0; i < kinds.length; i++) {
+            if (kinds[i] == LITERAL) {
+                length += literals[i].length();
+            } else {
+                hasFields = true;
+            }
+        }
+        this.literalLength = length;
+        this.staticText = hasFields ? null : String.join("", literals);
+    }
+
+    /**
+     * 본문과 캠페인 링크로 템플릿 컴파일
+     * trackLinks 가 false 이면 {link} 는 캠페인 단위 상수이므로 고정 조각으로 합치고,
+     * true 이면 수신자별 추적 링크를 넣는 필드로 둡니다.
+     */
+    public static MessageTemplate compile(String messageText, String link, boolean trackLinks) {
+        boolean linkField = trackLinks && link != null;
+        String source = messageText != null ? messageText : "";
+        List<Byte> kinds = new ArrayList<>();
+        List<String> literals = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        boolean linkUsed = false;
+
+        int i = 0;
+        while (i < source.length()) {
+            char ch = source.charAt(i);
+            int close = ch == '{' ? source.indexOf('}', i + 1) : -1;
+            byte kind = close > 0 ? fieldOf(source, i + 1, close) : LITERAL;
+            if (kind == LITERAL) {
+                literal.append(ch);
+                i++;
+                continue;
+            }
+            if (kind == LINK && !linkField) {
+                // 링크는 캠페인 단위 상수 - 앞뒤 고정 문자열과 합쳐 조각 수를 줄임
+                literal.append(link != null ? link : "");
+                linkUsed = true;
+            } else {
+                linkUsed |= kind == LINK;
+                flush(literal, kinds, literals);
+                kinds.add(kind);
+                literals.add(null);
+            }
+            i = close + 1;
+        }
+        if (!linkUsed && link != null) {
+            literal.append('\n');
+            if (linkField) {
+                flush(literal, kinds, literals);
+                kinds.add(LINK);
+                literals.add(null);
+            } else {
+                literal.append(link);
+            }
+        }
+        flush(literal, kinds, literals);
+
+        byte[] kindArray = new byte[kinds.size()];
+        for (int k = 0; k < kindArray.length; k++) {
+            kindArray[k] = kinds.get(k);
+        }
+        return new MessageTemplate(kindArray, literals.toArray(new String[0]));
+    }
+
+    /**
+     * 수신자별 링크 필드가 있는지 (있으면 render 에 추적 링크 전달)
+     */
+    public boolean hasLinkField() {
+        for (byte kind : kinds) {
+            if (kind == LINK) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 수신자 본문 렌더링 - buffer 는 호출 측이 재사용 (내용은 덮어씀)
+     */
+    public String render(StringBuilder buffer, String name, String sigungu, String link) {
+        if (staticText != null) {
+            return staticText;
+        }
+        buffer.setLength(0);
+        for (int i = 0; i < kinds.length; i++) {
+            switch (kinds[i]) {
+                case NAME -> append(buffer, name);
+                case SIGUNGU -> append(buffer, sigungu);
+                case LINK -> append(buffer, link);
+                default -> buffer.append(literals[i]);
+            }
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * 렌더링 버퍼 초기 크기 (고정 조각 길이 + 필드 여유분)
+     */
+    public StringBuilder newBuffer() {
+        return new StringBuilder(literalLength + 32);
+    }
+
+    private static void append(StringBuilder buffer, String value) {
+        if (value != null) {
+            buffer.append(value);
+        }
+    }
+
+    private static byte fieldOf(String source, int from, int to) {
+        if (source.startsWith("name", from) && to - from == 4) {
+            return NAME;
+        }
+        if (source.startsWith("sigungu", from) && to - from == 7) {
+            return SIGUNGU;
+        }
+        if (source.startsWith("link", from) && to - from == 4) {
+            return LINK;
+        }
+        return LITERAL;
+    }
+
+    private static void flush(StringBuilder literal, List<Byte> kinds, List<String> literals) {
+        if (literal.length() > 0) {
+            kinds.add(LITERAL);
+            literals.add(literal.toString());
+            literal.setLength(0);
+        }
+    }
+}
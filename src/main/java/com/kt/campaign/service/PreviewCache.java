@@ -0,0 +1,123 @@
+package com.kt.campaign.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.kt.campaign.config.PreviewCacheConfig;
+import com.kt.campaign.entity.CampaignFilter;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 캠페인 미리보기 조건 일치 고객 수 캐시
+ *
+ * 정규화된 CampaignFilter 를 키로 조건에 맞는 고객 수(빈도 제한 적용 전)를 보관합니다.
+ * 빈도 제한 도달 고객은 캐시 밖에서 요청마다 제외하므로, 제한 상태가 바뀌어도 캐시를 비울 필요가 없습니다.
+ * 크기 상한과 TTL 로 제거되며, 관리자 고객 변경 시에는 변경 전/후 속성 중 하나라도
+ * 조건에 맞는 항목만 골라서 무효화합니다.
+ *
+ * 무효화와 동시에 계산 중이던 결과는 변경 전 데이터일 수 있으므로,
+ * 계산 시작 이후 무효화가 있었다면 결과를 캐시에 넣지 않습니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Component
+public class PreviewCache {
+
+    private final Cache<CampaignFilter, Long> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder invalidations = new LongAdder();
+
+    public PreviewCache(PreviewCacheConfig config) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(config.getMaximumSize())
+            .expireAfterWrite(Duration.ofSeconds(config.getTtlSeconds()))
+            .recordStats()
+            .build();
+    }
+
+    public long get(CampaignFilter filter, Function<CampaignFilter, Long> loader) {
+        Long cached = cache.getIfPresent(filter);
+        if (cached != null) {
+            return cached;
+        }
+        long startedGeneration = generation.get();
+        Long computed = loader.apply(filter);
+        // 세대 확인과 저장을 키 단위로 원자적으로 - 무효화는 세대를 먼저 올린 뒤 항목을 지우므로,
+        // 확인 뒤 끼어든 무효화는 이 항목을 지우고, 확인 전에 시작된 무효화는 여기서 저장을 막음
+        cache.asMap().compute(filter, (key, existing) ->
+            generation.get() == startedGeneration ? computed : existing);
+        return computed;
+    }
+
+    /**
+     * 인메모리 인덱스 갱신 이후에 실행되어야 하므로 가장 낮은 우선순위로 처리
+     */
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(filter -> {
+            boolean affected = matches(filter, event.before()) || matches(filter, event.after());
+            if (affected) {
+                invalidations.increment();
+            }
+            return affected;
+        });
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new HashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        result.put("invalidationCount", invalidations.sum());
+        return result;
+    }
+
+    // CustomerQueryBuilder 조건과 동일한 의미: 조건이 걸린 속성이 null 이면 불일치
+    private static boolean matches(CampaignFilter filter, CustomerChangedEvent.Snapshot customer) {
+        if (customer == null) {
+            return false;
+        }
+        if (filter.gender() != null && !filter.gender().equals(customer.gender())) {
+            return false;
+        }
+        if (filter.sido() != null && !filter.sido().equals(customer.sido())) {
+            return false;
+        }
+        if (filter.sigungu() != null && !filter.sigungu().equals(customer.sigungu())) {
+            return false;
+        }
+        if (filter.hasAgeRange()) {
+            if (customer.birthYear() == null) {
+                return false;
+            }
+            if ((filter.minBirthYear() != null && customer.birthYear() < filter.minBirthYear())
+                || (filter.maxBirthYear() != null && customer.birthYear() > filter.maxBirthYear())) {
+                return false;
+            }
+        }
+        if (filter.hasRadius()) {
+            if (customer.lat() == null || customer.lng() == null) {
+                return false;
+            }
+            double distance = CustomerSpatialIndex.distanceMeters(
+                filter.centerLat(), filter.centerLng(), customer.lat(), customer.lng());
+            return distance <= filter.radiusMeters();
+        }
+        return true;
+    }
+}
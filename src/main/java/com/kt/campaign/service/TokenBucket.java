@@ -0,0 +1,63 @@
+package com.kt.campaign.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 잠금 없는 토큰 버킷 (GCRA 방식 예약)
+ *
+ * 상태는 "이론상 다음 도착 시각(tat)" 하나뿐이며 CAS 한 번으로 토큰을 예약합니다.
+ * - 토큰 하나당 간격 T = 1초 / tps
+ * - 쌓일 수 있는 토큰은 최대 burst 개 (tat 를 now - burst * T 아래로 내리지 않음)
+ * - reserve(n) 은 n 개를 즉시 예약하고, 토큰이 생길 때까지 기다려야 하는 시간(ns)을 반환
+ *
+ * 호출 측은 반환된 시간만큼 대기한 뒤 보내면 되므로 경합 시에도 스레드가 잠금을 기다리지 않습니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+public class TokenBucket {
+
+    private final double tps;
+    private final int burst;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong tat;
+    private final LongAdder granted = new LongAdder();
+
+    public TokenBucket(double tps, int burst) {
+        this.tps = tps;
+        this.burst = Math.max(1, burst);
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / tps));
+        this.burstNanos = this.intervalNanos * this.burst;
+        this.tat = new AtomicLong(System.nanoTime() - burstNanos);
+    }
+
+    /**
+     * permits 개 토큰 예약 후 대기 시간(ns) 반환 (0 이면 바로 사용 가능)
+     */
+    public long reserve(int permits) {
+        long cost = intervalNanos * permits;
+        while (true) {
+            long now = System.nanoTime();
+            long current = tat.get();
+            long base = Math.max(current, now - burstNanos);
+            long next = base + cost;
+            if (tat.compareAndSet(current, next)) {
+                granted.add(permits);
+                return Math.max(0L, next - now);
+            }
+        }
+    }
+
+    public double getTps() {
+        return tps;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public long getGranted() {
+        return granted.sum();
+    }
+}
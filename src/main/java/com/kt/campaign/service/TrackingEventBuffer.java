@@ -0,0 +1,115 @@
+package com.kt.campaign.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 읽음/클릭 이벤트용 잠금 없는 다중 생산자/단일 소비자(MPSC) 링 버퍼
+ *
+ * 칸마다 순번(sequence)을 두는 방식입니다.
+ * - 생산자: tail 을 CAS 로 하나 확보하고 칸에 기록한 뒤 순번을 pos + 1 로 공개합니다.
+ *   칸이 아직 소비되지 않았으면(가득 참) 즉시 false 를 반환하므로 요청 스레드가 기다리지 않습니다.
+ * - 소비자(flush 스레드 하나): 순번이 공개된 칸만 읽고, 순번을 pos + capacity 로 돌려 칸을 반납합니다.
+ *
+ * 이벤트 필드는 칸별 원시 배열에 저장하므로 기록 시 객체를 만들지 않습니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+public class TrackingEventBuffer {
+
+    public static final byte READ = 1;
+    public static final byte CLICK = 2;
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final long[] targetIds;
+    private final long[] campaignIds;
+    private final long[] timestamps;
+    private final byte[] types;
+
+    private final AtomicLong tail = new AtomicLong();
+    // 소비자 전용 (통계 조회용으로만 다른 스레드가 읽음)
+    private volatile long head = 0;
+
+    /**
+     * drain 으로 꺼낸 이벤트를 받는 콜백
+     */
+    @FunctionalInterface
+    public interface Consumer {
+        void accept(long targetId, long campaignId, byte type, long timestamp);
+    }
+
+    public TrackingEventBuffer(int requestedCapacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, requestedCapacity) * 2 - 1);
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.targetIds = new long[capacity];
+        this.campaignIds = new long[capacity];
+        this.timestamps = new long[capacity];
+        this.types = new byte[capacity];
+    }
+
+    /**
+     * 이벤트 추가 (campaignId 를 모르면 0), 버퍼가 가득 차면 false
+     */
+    public boolean offer(long targetId, long campaignId, byte type, long timestamp) {
+        while (true) {
+            long pos = tail.get();
+            int index = (int) (pos & mask);
+            long available = sequences.get(index) - pos;
+            if (available < 0) {
+                return false;
+            }
+            if (available == 0 && tail.compareAndSet(pos, pos + 1)) {
+                targetIds[index] = targetId;
+                campaignIds[index] = campaignId;
+                timestamps[index] = timestamp;
+                types[index] = type;
+                // 순번 기록이 필드 기록 뒤에 보이도록 공개
+                sequences.lazySet(index, pos + 1);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 최대 max 개 이벤트를 꺼내 consumer 로 전달 (소비자 스레드 전용), 꺼낸 수 반환
+     */
+    public int drain(Consumer consumer, int max) {
+        int drained = 0;
+        long pos = head;
+        while (drained < max) {
+            int index = (int) (pos & mask);
+            if (sequences.get(index) != pos + 1) {
+                break;
+            }
+            consumer.accept(targetIds[index], campaignIds[index], types[index], timestamps[index]);
+            sequences.lazySet(index, pos + capacity);
+            pos++;
+            drained++;
+        }
+        head = pos;
+        return drained;
+    }
+
+    /**
+     * 가장 오래된 미처리 이벤트의 시각 (없으면 -1)
+     */
+    public long oldestTimestamp() {
+        long pos = head;
+        int index = (int) (pos & mask);
+        return sequences.get(index) == pos + 1 ? timestamps[index] : -1;
+    }
+
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,401 @@
+package com.kt.campaign.service;
+
+import com.kt.campaign.config.TrackingConfig;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 읽음/클릭 원본 이벤트 로그 (추가 전용, 세그먼트 단위 메모리 매핑 파일)
+ *
+ * 모든 읽음/클릭을 덮어쓰지 않고 기록합니다. campaign_targets 의 read_at/click_at 은 이 로그에서
+ * 파생되는 값이며, replay 로 로그 전체를 다시 읽어 재구성하거나 새 지표를 소급 계산할 수 있습니다.
+ *
+ * 레코드: [표식 int][길이 int][종류 byte][CRC32C int][시각 long][대상자 id long][캠페인 id long][IP 해시 long]
+ *         [UA 길이 short][UA UTF-8] - CRC 는 종류와 시각 이후 본문 전체에 대해 계산
+ * - 기록: 세그먼트 위치를 CAS(getAndAdd)로 확보한 뒤 매핑 영역에 직접 씁니다 (잠금 없음).
+ *   본문과 CRC 를 먼저 쓰고 종류를 마지막에 공개하므로, 종류가 0 인 레코드는 기록 중이거나 중단된 레코드입니다.
+ * - 위치 확보와 기록 사이에 프로세스가 죽으면 완전히 기록된 레코드 앞에 빈 구간이 남을 수 있으므로,
+ *   replay 는 표식·길이·종류·CRC 가 모두 맞는 레코드만 읽고, 맞지 않으면 1바이트씩 다음 표식을 찾아 이어 읽습니다.
+ *   유효한 레코드 사이에서 건너뛴 바이트(skippedBytes)와 마지막 유효 레코드 뒤의 잘린 꼬리(tornTailBytes)를 보고합니다.
+ * - 시작할 때마다 마지막 세그먼트 다음 번호의 새 세그먼트에 기록하며, 기존 세그먼트에는 이어 쓰지 않습니다.
+ * - 세그먼트가 가득 차면 다음 번호의 파일로 넘어갑니다 (tracking-0000000001.log ...).
+ * - 보존: 새 세그먼트를 열 때 logMaxSegments 개를 넘는 가장 오래된 세그먼트부터 삭제하므로
+ *   디스크 사용량은 logSegmentSizeMb × logMaxSegments 이하입니다. 세그먼트 크기는 매핑 한도 때문에 2048MB 미만이어야 합니다.
+ * - replay 는 남아 있는 세그먼트만 읽습니다. 재생은 기록된 시각을 앞당기기만 하므로,
+ *   삭제된 세그먼트의 이벤트로 이미 기록된 read_at/click_at 은 그대로 유지됩니다.
+ * - fsync: logFsyncIntervalMs 주기로 매핑 영역을 디스크에 강제 기록합니다.
+ *   그 사이 프로세스가 죽어도 페이지 캐시에 남아 있으므로, 유실 범위는 OS 장애 시 마지막 주기분입니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Component
+public class TrackingEventLog {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("tracking-(\\d{10})\\.log");
+    private static final int MAGIC = 0x54524B45;
+    private static final int LENGTH_OFFSET = 4;
+    private static final int TYPE_OFFSET = 8;
+    private static final int CRC_OFFSET = 9;
+    private static final int BODY_OFFSET = 13;
+    private static final int AGENT_LENGTH_OFFSET = BODY_OFFSET + 32;
+    private static final int HEADER_BYTES = AGENT_LENGTH_OFFSET + 2;
+    private static final int MAX_USER_AGENT_BYTES = 512;
+    // 세그먼트 하나를 MappedByteBuffer 하나(int 인덱스)로 매핑하므로 2GB 미만
+    private static final int MAX_SEGMENT_SIZE_MB = 2047;
+
+    private final TrackingConfig config;
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxSegments;
+
+    private volatile Segment current;
+    // 넘어가기 직전 세그먼트 - 넘어갈 때 기록 중이던 스레드가 있을 수 있어 다음 fsync 에 한 번 더 기록
+    private volatile Segment previous;
+
+    private final AtomicLong appendedEvents = new AtomicLong();
+    private final AtomicLong appendedBytes = new AtomicLong();
+    private final AtomicLong deletedSegments = new AtomicLong();
+    private volatile long lastFsyncAt = 0;
+
+    /**
+     * replay 결과 - 전달한 이벤트 수, 유효 레코드 사이에서 건너뛴 바이트, 세그먼트 끝의 잘린 레코드 바이트,
+     * 읽은 가장 오래된 세그먼트 번호 (1 보다 크면 그 이전 세그먼트는 보존 한도로 삭제됨, 읽은 세그먼트가 없으면 0)
+     */
+    public record ReplayResult(long events, long skippedBytes, long tornTailBytes, long firstSegment) {
+    }
+
+    /**
+     * replay 로 읽은 이벤트를 받는 콜백
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        void accept(byte type, long timestamp, long targetId, long campaignId, long ipHash, String userAgent);
+    }
+
+    public TrackingEventLog(TrackingConfig config) {
+        this.config = config;
+        this.directory = Path.of(config.getLogDir());
+        if (config.isLogEnabled()) {
+            if (config.getLogSegmentSizeMb() < 1 || config.getLogSegmentSizeMb() > MAX_SEGMENT_SIZE_MB) {
+                throw new IllegalArgumentException("app.tracking.log-segment-size-mb 는 1 ~ " + MAX_SEGMENT_SIZE_MB
+                    + " 사이여야 합니다: " + config.getLogSegmentSizeMb());
+            }
+            if (config.getLogMaxSegments() < 2) {
+                throw new IllegalArgumentException("app.tracking.log-max-segments 는 2 이상이어야 합니다: "
+                    + config.getLogMaxSegments());
+            }
+        }
+        this.segmentBytes = Math.max(1, Math.min(config.getLogSegmentSizeMb(), MAX_SEGMENT_SIZE_MB)) * 1024 * 1024;
+        this.maxSegments = config.getLogMaxSegments();
+        if (config.isLogEnabled()) {
+            this.current = openNext();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        fsync();
+    }
+
+    /**
+     * 이벤트 한 건 추가 (campaignId 를 모르면 0, 로그 미사용 시 무시)
+     */
+    public void append(byte type, long timestamp, long targetId, long campaignId, long ipHash, String userAgent) {
+        if (!config.isLogEnabled()) {
+            return;
+        }
+        byte[] agent = userAgentBytes(userAgent);
+        int length = HEADER_BYTES + agent.length;
+        while (true) {
+            Segment segment = current;
+            int position = segment.position.getAndAdd(length);
+            // 가득 찬 뒤에도 다른 스레드가 위치를 더할 수 있으므로 long 으로 비교 (int 넘침 방지)
+            if (position < 0 || (long) position + length > segment.buffer.capacity()) {
+                roll(segment);
+                continue;
+            }
+            MappedByteBuffer buffer = segment.buffer;
+            buffer.putInt(position, MAGIC);
+            buffer.putInt(position + LENGTH_OFFSET, length);
+            buffer.putLong(position + BODY_OFFSET, timestamp);
+            buffer.putLong(position + BODY_OFFSET + 8, targetId);
+            buffer.putLong(position + BODY_OFFSET + 16, campaignId);
+            buffer.putLong(position + BODY_OFFSET + 24, ipHash);
+            buffer.putShort(position + AGENT_LENGTH_OFFSET, (short) agent.length);
+            buffer.put(position + HEADER_BYTES, agent);
+            buffer.putInt(position + CRC_OFFSET, checksum(buffer, position, length, type));
+            // 본문 기록이 종류 공개보다 먼저 보이도록
+            VarHandle.releaseFence();
+            buffer.put(position + TYPE_OFFSET, type);
+            segment.dirty = true;
+            appendedEvents.incrementAndGet();
+            appendedBytes.addAndGet(length);
+            return;
+        }
+    }
+
+    /**
+     * 매핑 영역을 디스크에 강제 기록
+     */
+    @Scheduled(fixedDelayString = "${app.tracking.log-fsync-interval-ms:1000}",
+               initialDelayString = "${app.tracking.log-fsync-interval-ms:1000}")
+    public void fsync() {
+        Segment last = previous;
+        if (last != null) {
+            force(last);
+            previous = null;
+        }
+        Segment segment = current;
+        if (segment != null && segment.dirty) {
+            force(segment);
+        }
+        lastFsyncAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 모든 세그먼트를 순서대로 읽어 visitor 로 전달
+     * 기록 중인 세그먼트도 읽으며 그 시점까지 공개된 이벤트만 전달합니다 (기록 중인 꼬리는 잘린 꼬리로 세지 않음).
+     */
+    public ReplayResult replay(Visitor visitor) {
+        if (!config.isLogEnabled()) {
+            return new ReplayResult(0, 0, 0, 0);
+        }
+        Segment writing = current;
+        long events = 0;
+        long skippedBytes = 0;
+        long tornTailBytes = 0;
+        long firstSegment = 0;
+        for (Path file : segmentFiles()) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                if (firstSegment == 0) {
+                    firstSegment = indexOf(file);
+                }
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                int position = 0;
+                // 마지막 유효 레코드 뒤에서 만난 0 이 아닌 바이트 수 (다음 유효 레코드가 나오면 건너뛴 바이트)
+                long garbage = 0;
+                while (position + HEADER_BYTES <= buffer.capacity()) {
+                    int length = validLength(buffer, position);
+                    if (length < 0) {
+                        if (buffer.get(position) != 0) {
+                            garbage++;
+                        }
+                        position++;
+                        continue;
+                    }
+                    byte type = buffer.get(position + TYPE_OFFSET);
+                    int agentLength = buffer.getShort(position + AGENT_LENGTH_OFFSET);
+                    byte[] agent = new byte[agentLength];
+                    buffer.get(position + HEADER_BYTES, agent);
+                    visitor.accept(type, buffer.getLong(position + BODY_OFFSET), buffer.getLong(position + BODY_OFFSET + 8),
+                        buffer.getLong(position + BODY_OFFSET + 16), buffer.getLong(position + BODY_OFFSET + 24),
+                        agentLength > 0 ? new String(agent, StandardCharsets.UTF_8) : null);
+                    events++;
+                    skippedBytes += garbage;
+                    garbage = 0;
+                    position += length;
+                }
+                for (; position < buffer.capacity(); position++) {
+                    if (buffer.get(position) != 0) {
+                        garbage++;
+                    }
+                }
+                if (garbage > 0 && (writing == null || indexOf(file) != writing.index)) {
+                    tornTailBytes += garbage;
+                    System.err.println("Tracking event log segment " + file.getFileName() + " has a torn tail of " + garbage + " bytes");
+                }
+            } catch (NoSuchFileException e) {
+                // 목록을 읽은 뒤 보존 한도로 삭제된 세그먼트
+                System.out.println("Tracking event log segment " + file.getFileName() + " was deleted during replay");
+            } catch (IOException e) {
+                throw new UncheckedIOException("추적 이벤트 로그를 읽을 수 없습니다: " + file, e);
+            }
+        }
+        if (skippedBytes > 0) {
+            System.err.println("Tracking event log replay skipped " + skippedBytes + " damaged bytes between records");
+        }
+        if (firstSegment > 1) {
+            System.out.println("Tracking event log replay started at segment " + firstSegment
+                + " - older segments were removed by retention");
+        }
+        return new ReplayResult(events, skippedBytes, tornTailBytes, firstSegment);
+    }
+
+    public Map<String, Object> stats() {
+        Segment segment = current;
+        Map<String, Object> result = new HashMap<>();
+        result.put("enabled", config.isLogEnabled());
+        result.put("directory", directory.toAbsolutePath().toString());
+        result.put("segments", config.isLogEnabled() ? segmentFiles().size() : 0);
+        result.put("currentSegment", segment != null ? segment.index : -1);
+        result.put("currentSegmentBytes", segment != null ? Math.min(segment.position.get(), segmentBytes) : 0);
+        result.put("appendedEvents", appendedEvents.get());
+        result.put("appendedBytes", appendedBytes.get());
+        result.put("maxSegments", maxSegments);
+        result.put("deletedSegments", deletedSegments.get());
+        result.put("lastFsyncAgoMs", lastFsyncAt > 0 ? System.currentTimeMillis() - lastFsyncAt : -1);
+        return result;
+    }
+
+    private synchronized void roll(Segment full) {
+        if (current != full) {
+            return;
+        }
+        Segment next = open(full.index + 1);
+        previous = full;
+        current = next;
+        System.out.println("Tracking event log rolled to segment " + next.index);
+        enforceRetention();
+    }
+
+    // 마지막 세그먼트 다음 번호의 새 세그먼트 - 중단 시 빈 구간이 남았을 수 있는 기존 세그먼트에는 이어 쓰지 않음
+    private Segment openNext() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("추적 이벤트 로그 디렉터리를 만들 수 없습니다: " + directory, e);
+        }
+        List<Path> files = segmentFiles();
+        Segment segment = open(files.isEmpty() ? 1 : indexOf(files.get(files.size() - 1)) + 1);
+        System.out.println("Tracking event log opened: segment " + segment.index);
+        enforceRetention();
+        return segment;
+    }
+
+    // 보존 한도를 넘는 가장 오래된 세그먼트 삭제 - 한도가 2 이상이므로 기록 중인 세그먼트와 직전 세그먼트는 남음
+    private void enforceRetention() {
+        List<Path> files = segmentFiles();
+        for (int i = 0; i < files.size() - maxSegments; i++) {
+            Path file = files.get(i);
+            try {
+                if (Files.deleteIfExists(file)) {
+                    deletedSegments.incrementAndGet();
+                    System.out.println("Tracking event log deleted segment " + file.getFileName() + " (retention)");
+                }
+            } catch (IOException e) {
+                System.err.println("Tracking event log segment delete failed: " + file + " - " + e.getMessage());
+            }
+        }
+    }
+
+    private Segment open(long index) {
+        Path file = directory.resolve(String.format("tracking-%010d.log", index));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // 매핑은 채널을 닫은 뒤에도 유효
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            return new Segment(index, buffer, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("추적 이벤트 로그 세그먼트를 열 수 없습니다: " + file, e);
+        }
+    }
+
+    // position 에 완전히 기록된 레코드가 있으면 길이, 아니면 -1 (표식, 길이 범위, 공개된 종류, CRC 모두 확인)
+    private static int validLength(MappedByteBuffer buffer, int position) {
+        if (buffer.getInt(position) != MAGIC) {
+            return -1;
+        }
+        int length = buffer.getInt(position + LENGTH_OFFSET);
+        if (length < HEADER_BYTES || length > buffer.capacity() - position) {
+            return -1;
+        }
+        byte type = buffer.get(position + TYPE_OFFSET);
+        VarHandle.acquireFence();
+        int agentLength = buffer.getShort(position + AGENT_LENGTH_OFFSET);
+        if (type == 0 || agentLength < 0 || HEADER_BYTES + agentLength != length) {
+            return -1;
+        }
+        return buffer.getInt(position + CRC_OFFSET) == checksum(buffer, position, length, type) ? length : -1;
+    }
+
+    private static int checksum(MappedByteBuffer buffer, int position, int length, byte type) {
+        CRC32C crc = new CRC32C();
+        crc.update(type);
+        crc.update(buffer.slice(position + BODY_OFFSET, length - BODY_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private List<Path> segmentFiles() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> result = new ArrayList<>(files
+                .filter(file -> SEGMENT_NAME.matcher(file.getFileName().toString()).matches())
+                .toList());
+            result.sort((a, b) -> Long.compare(indexOf(a), indexOf(b)));
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException("추적 이벤트 로그 목록을 읽을 수 없습니다: " + directory, e);
+        }
+    }
+
+    private static long indexOf(Path file) {
+        Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    private static void force(Segment segment) {
+        try {
+            segment.dirty = false;
+            segment.buffer.force();
+        } catch (Exception e) {
+            segment.dirty = true;
+            System.err.println("Tracking event log fsync failed: " + e.getMessage());
+        }
+    }
+
+    private static byte[] userAgentBytes(String userAgent) {
+        if (userAgent == null || userAgent.isEmpty()) {
+            return new byte[0];
+        }
+        byte[] bytes = userAgent.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_USER_AGENT_BYTES) {
+            return bytes;
+        }
+        // 잘린 멀티바이트 문자의 앞부분까지 제거
+        int end = MAX_USER_AGENT_BYTES;
+        while (end > 0 && (bytes[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        byte[] truncated = new byte[end];
+        System.arraycopy(bytes, 0, truncated, 0, end);
+        return truncated;
+    }
+
+    private static final class Segment {
+
+        private final long index;
+        private final MappedByteBuffer buffer;
+        private final AtomicInteger position;
+        private volatile boolean dirty = false;
+
+        Segment(long index, MappedByteBuffer buffer, int position) {
+            this.index = index;
+            this.buffer = buffer;
+            this.position = new AtomicInteger(position);
+        }
+    }
+}
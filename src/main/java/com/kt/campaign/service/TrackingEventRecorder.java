@@ -0,0 +1,311 @@
+package com.kt.campaign.service;
+
+import com.kt.campaign.config.TrackingConfig;
+import com.kt.campaign.repository.TrackingEventRepository;
+import com.kt.campaign.repository.TrackingEventRepository.CampaignDelta;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 읽음/클릭 기록 - 쓰기 지연(write-behind) 일괄 반영
+ *
+ * 요청 스레드는 이벤트를 TrackingEventLog 에 추가하고 TrackingEventBuffer 에 넣은 뒤 바로 응답합니다 (DB 연결 사용 없음).
+ * 로그가 원본이고 read_at/click_at 은 로그에서 파생된 값이므로, replay 로 로그 전체를 다시 반영할 수 있습니다.
+ * flush 스레드 하나가 flushIntervalMs 마다, 또는 flushBatchSize 개가 쌓이면 즉시 깨어나
+ * 최대 flushBatchSize 개씩 UPDATE ... FROM (VALUES ...) 한 문장으로 반영합니다.
+ *
+ * - 버퍼가 가득 차면 해당 이벤트만 요청 스레드에서 바로 반영합니다 (유실 없음).
+ * - 반영 실패 시 같은 묶음을 flushIntervalMs 뒤에 다시 시도하고(연속 실패 시 대기를 두 배씩, 최대 8배까지 늘림),
+ *   3회 실패하면 버리고 dropped 로 집계합니다. 대기 중에는 버퍼가 차도 깨어나지 않습니다.
+ * - 종료 시 남은 이벤트를 모두 반영한 뒤 멈춥니다.
+ * - 반영 결과 새로 읽음/클릭이 된 행 수는 CampaignStatsCounter 에 더합니다.
+ * - IP 는 원문을 남기지 않고 서명 키를 섞은 SHA-256 앞 8바이트만 기록합니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Component
+public class TrackingEventRecorder {
+
+    private static final int MAX_FLUSH_ATTEMPTS = 3;
+    // 연속 실패 시 재시도 대기 = flushIntervalMs << min(실패 수 - 1, 3)
+    private static final int MAX_BACKOFF_SHIFT = 3;
+
+    private final TrackingEventRepository trackingEventRepository;
+    private final TrackingEventLog eventLog;
+    private final CampaignStatsCounter campaignStatsCounter;
+    private final CampaignHourlyRollup campaignHourlyRollup;
+    private final TrackingConfig config;
+    private final byte[] ipSalt;
+    private final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+    private final TrackingEventBuffer buffer;
+
+    // flush 스레드 전용 묶음 배열
+    private final int batchSize;
+    private final long[] batchTargetIds;
+    private final long[] batchCampaignIds;
+    private final Timestamp[] batchReadAts;
+    private final Timestamp[] batchClickAts;
+    private int batchCount = 0;
+    private int batchAttempts = 0;
+
+    private final AtomicLong flushedEvents = new AtomicLong();
+    private final AtomicLong updatedRows = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong overflowWrites = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private volatile long lastFlushAt = 0;
+    private volatile long lastFlushMillis = 0;
+
+    private Thread flusher;
+    private volatile boolean running = false;
+
+    public TrackingEventRecorder(TrackingEventRepository trackingEventRepository,
+                                 TrackingEventLog eventLog,
+                                 CampaignStatsCounter campaignStatsCounter,
+                                 CampaignHourlyRollup campaignHourlyRollup,
+                                 TrackingConfig config) {
+        this.trackingEventRepository = trackingEventRepository;
+        this.eventLog = eventLog;
+        this.campaignStatsCounter = campaignStatsCounter;
+        this.campaignHourlyRollup = campaignHourlyRollup;
+        this.config = config;
+        this.ipSalt = (config.getSecret() != null ? config.getSecret() : "").getBytes(StandardCharsets.UTF_8);
+        this.buffer = new TrackingEventBuffer(config.getBufferCapacity());
+        this.batchSize = Math.max(1, config.getFlushBatchSize());
+        this.batchTargetIds = new long[batchSize];
+        this.batchCampaignIds = new long[batchSize];
+        this.batchReadAts = new Timestamp[batchSize];
+        this.batchClickAts = new Timestamp[batchSize];
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        flusher = new Thread(this::run, "tracking-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            LockSupport.unpark(flusher);
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    /**
+     * 읽음 기록 (campaignId 를 모르면 null)
+     */
+    public void recordRead(Long campaignId, long targetId, String userAgent, String clientIp) {
+        record(campaignId, targetId, TrackingEventBuffer.READ, userAgent, clientIp);
+    }
+
+    /**
+     * 클릭 기록 (읽음도 함께 기록, campaignId 를 모르면 null)
+     */
+    public void recordClick(Long campaignId, long targetId, String userAgent, String clientIp) {
+        record(campaignId, targetId, TrackingEventBuffer.CLICK, userAgent, clientIp);
+    }
+
+    /**
+     * 이벤트 로그 전체를 다시 읽어 read_at/click_at 재구성 (로그의 가장 이른 시각으로 맞춤)
+     * 보존 한도로 삭제된 세그먼트의 이벤트는 다시 읽지 못하지만, 이미 기록된 값은 지우지 않습니다 (firstSegment 로 확인).
+     * 시각이 앞당겨진 행은 시간 구간이 바뀔 수 있으므로 끝난 뒤 시간별 집계를 다시 계산합니다.
+     */
+    public synchronized Map<String, Object> replay() {
+        long started = System.currentTimeMillis();
+        long[] targetIds = new long[batchSize];
+        long[] campaignIds = new long[batchSize];
+        Timestamp[] readAts = new Timestamp[batchSize];
+        Timestamp[] clickAts = new Timestamp[batchSize];
+        int[] count = {0};
+        long[] updated = {0};
+
+        TrackingEventLog.ReplayResult replayed = eventLog.replay((type, timestamp, targetId, campaignId, ipHash, userAgent) -> {
+            int i = count[0];
+            Timestamp at = new Timestamp(timestamp);
+            targetIds[i] = targetId;
+            campaignIds[i] = campaignId;
+            readAts[i] = type == TrackingEventBuffer.READ ? at : null;
+            clickAts[i] = type == TrackingEventBuffer.CLICK ? at : null;
+            if (++count[0] == batchSize) {
+                updated[0] += applyDeltas(trackingEventRepository.rebuildBatch(targetIds, campaignIds, readAts, clickAts, count[0]));
+                count[0] = 0;
+            }
+        });
+        updated[0] += applyDeltas(trackingEventRepository.rebuildBatch(targetIds, campaignIds, readAts, clickAts, count[0]));
+        Map<String, Object> rollup = campaignHourlyRollup.rebuild(null);
+
+        long elapsed = System.currentTimeMillis() - started;
+        System.out.println("Tracking event log replayed: " + replayed.events() + " events, " + updated[0] + " rows in " + elapsed + "ms");
+        Map<String, Object> result = new HashMap<>();
+        result.put("events", replayed.events());
+        result.put("skippedBytes", replayed.skippedBytes());
+        result.put("tornTailBytes", replayed.tornTailBytes());
+        result.put("firstSegment", replayed.firstSegment());
+        result.put("updatedRows", updated[0]);
+        result.put("hourlyStatsRows", rollup.get("rows"));
+        result.put("elapsedMs", elapsed);
+        return result;
+    }
+
+    public Map<String, Object> stats() {
+        long oldest = buffer.oldestTimestamp();
+        Map<String, Object> result = new HashMap<>();
+        result.put("buffered", buffer.size());
+        result.put("capacity", buffer.capacity());
+        result.put("pendingBatch", batchCount);
+        // 가장 오래된 미반영 이벤트가 기다린 시간
+        result.put("lagMs", oldest > 0 ? System.currentTimeMillis() - oldest : 0);
+        result.put("lastFlushAgoMs", lastFlushAt > 0 ? System.currentTimeMillis() - lastFlushAt : -1);
+        result.put("lastFlushMs", lastFlushMillis);
+        result.put("flushes", flushes.get());
+        result.put("flushedEvents", flushedEvents.get());
+        result.put("updatedRows", updatedRows.get());
+        result.put("overflowWrites", overflowWrites.get());
+        result.put("droppedEvents", droppedEvents.get());
+        return result;
+    }
+
+    private void record(Long campaignId, long targetId, byte type, String userAgent, String clientIp) {
+        long campaign = campaignId != null ? campaignId : 0L;
+        long now = System.currentTimeMillis();
+        try {
+            eventLog.append(type, now, targetId, campaign, ipHash(clientIp), userAgent);
+        } catch (Exception e) {
+            // 로그 기록 실패가 읽음/클릭 반영까지 막지는 않음
+            System.err.println("Tracking event log append failed: " + e.getMessage());
+        }
+        if (buffer.offer(targetId, campaign, type, now)) {
+            // 한 묶음 이상 쌓이면 주기를 기다리지 않고 flush 스레드를 깨움
+            if (buffer.size() >= batchSize && flusher != null) {
+                LockSupport.unpark(flusher);
+            }
+            return;
+        }
+        // 버퍼가 가득 참 - 이 이벤트만 바로 반영
+        overflowWrites.incrementAndGet();
+        Timestamp at = new Timestamp(now);
+        applyDeltas(trackingEventRepository.applyBatch(new long[]{targetId}, new long[]{campaign},
+            new Timestamp[]{type == TrackingEventBuffer.READ ? at : null},
+            new Timestamp[]{type == TrackingEventBuffer.CLICK ? at : null}, 1));
+    }
+
+    // 실시간 카운터에 새 읽음/클릭 수 반영, 갱신 행 수 반환
+    private long applyDeltas(List<CampaignDelta> deltas) {
+        long updated = 0;
+        for (CampaignDelta delta : deltas) {
+            campaignStatsCounter.addRead(delta.campaignId(), delta.read());
+            campaignStatsCounter.addClick(delta.campaignId(), delta.click());
+            updated += delta.updated();
+        }
+        return updated;
+    }
+
+    // IP 원문 대신 서명 키를 섞은 해시 (IP 없으면 0)
+    private long ipHash(String clientIp) {
+        if (clientIp == null || clientIp.isEmpty()) {
+            return 0L;
+        }
+        MessageDigest digest = digests.get();
+        digest.update(ipSalt);
+        byte[] hash = digest.digest(clientIp.getBytes(StandardCharsets.UTF_8));
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (hash[i] & 0xFF);
+        }
+        return value;
+    }
+
+    private void run() {
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, config.getFlushIntervalMs()));
+        int failures = 0;
+        while (running) {
+            if (failures > 0) {
+                backOff(intervalNanos << Math.min(failures - 1, MAX_BACKOFF_SHIFT));
+            } else if (buffer.size() < batchSize) {
+                LockSupport.parkNanos(this, intervalNanos);
+            }
+            failures = flushOnce() ? 0 : failures + 1;
+        }
+        // 종료 - 남은 이벤트 모두 반영
+        while (buffer.size() > 0 || batchCount > 0) {
+            if (!flushOnce()) {
+                LockSupport.parkNanos(this, intervalNanos);
+            }
+        }
+        System.out.println("Tracking events drained: " + flushedEvents.get() + " flushed, " + droppedEvents.get() + " dropped");
+    }
+
+    // 실패 후 재시도 대기 - 버퍼가 차서 깨운 경우에는 다시 잠들고, 종료 시에만 바로 돌아감
+    private void backOff(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        for (long left = nanos; left > 0 && running; left = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(this, left);
+        }
+    }
+
+    // 묶음 하나 반영, 실패 시 묶음을 유지하여 다음에 재시도 (반영할 것이 없거나 성공하면 true)
+    private boolean flushOnce() {
+        if (batchCount == 0) {
+            buffer.drain(this::addToBatch, batchSize);
+        }
+        if (batchCount == 0) {
+            return true;
+        }
+        long started = System.currentTimeMillis();
+        try {
+            long updated = applyDeltas(trackingEventRepository.applyBatch(batchTargetIds, batchCampaignIds,
+                batchReadAts, batchClickAts, batchCount));
+            updatedRows.addAndGet(updated);
+            flushedEvents.addAndGet(batchCount);
+            flushes.incrementAndGet();
+            lastFlushAt = System.currentTimeMillis();
+            lastFlushMillis = lastFlushAt - started;
+            clearBatch();
+            return true;
+        } catch (Exception e) {
+            System.err.println("Tracking flush failed (" + batchCount + " events): " + e.getMessage());
+            if (++batchAttempts >= MAX_FLUSH_ATTEMPTS) {
+                droppedEvents.addAndGet(batchCount);
+                clearBatch();
+            }
+            return false;
+        }
+    }
+
+    private void addToBatch(long targetId, long campaignId, byte type, long timestamp) {
+        Timestamp at = new Timestamp(timestamp);
+        batchTargetIds[batchCount] = targetId;
+        batchCampaignIds[batchCount] = campaignId;
+        batchReadAts[batchCount] = type == TrackingEventBuffer.READ ? at : null;
+        batchClickAts[batchCount] = type == TrackingEventBuffer.CLICK ? at : null;
+        batchCount++;
+    }
+
+    private void clearBatch() {
+        batchCount = 0;
+        batchAttempts = 0;
+    }
+}
@@ -0,0 +1,164 @@
+package com.kt.campaign.service;
+
+import com.kt.campaign.config.TrackingConfig;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+
+/**
+ * 읽음/클릭 추적 토큰 인코딩/검증
+ *
+ * 토큰 = [캠페인 id 자릿수][대상자 id 자릿수][캠페인 id][대상자 id][서명 7자리], 모두 base62
+ * - 서명: HMAC-SHA256(campaignId, targetId) 앞 40비트 - 순차 id 를 바꿔 넣는 열거 시도를 막습니다.
+ * - 길이: 캠페인 id 3자리, 대상자 id 5자리 기준 17자
+ *
+ * 검증은 문자열 파싱과 HMAC 한 번뿐이며 DB 를 조회하지 않습니다.
+ * Mac 인스턴스는 스레드별로 재사용합니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Component
+public class TrackingTokenCodec {
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+    private static final int SIGNATURE_CHARS = 7;
+    private static final long SIGNATURE_MASK = (1L << 40) - 1;
+
+    private final TrackingConfig config;
+    private final ThreadLocal<Mac> macs;
+
+    public record Decoded(long campaignId, long targetId) {
+    }
+
+    public TrackingTokenCodec(TrackingConfig config) {
+        this.config = config;
+        byte[] key = (config.getSecret() != null ? config.getSecret() : "").getBytes(StandardCharsets.UTF_8);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(new SecretKeySpec(key.length > 0 ? key : new byte[1], "HmacSHA256"));
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("추적 토큰 서명 키를 초기화할 수 없습니다.", e);
+            }
+        });
+    }
+
+    /**
+     * 추적 링크를 본문에 넣을지 여부 (baseUrl 설정 시)
+     */
+    public boolean isEnabled() {
+        return config.getBaseUrl() != null && !config.getBaseUrl().isBlank();
+    }
+
+    public String encode(long campaignId, long targetId) {
+        StringBuilder token = new StringBuilder(24);
+        int campaignDigits = digits(campaignId);
+        int targetDigits = digits(targetId);
+        token.append(ALPHABET[campaignDigits]).append(ALPHABET[targetDigits]);
+        appendFixed(token, campaignId, campaignDigits);
+        appendFixed(token, targetId, targetDigits);
+        appendFixed(token, signature(campaignId, targetId), SIGNATURE_CHARS);
+        return token.toString();
+    }
+
+    /**
+     * 클릭 추적 링크 (baseUrl/c/{token})
+     */
+    public String clickUrl(long campaignId, long targetId) {
+        return config.getBaseUrl() + "/c/" + encode(campaignId, targetId);
+    }
+
+    /**
+     * 형식이나 서명이 맞지 않으면 null
+     */
+    public Decoded decode(String token) {
+        if (token == null || token.length() < 2 + SIGNATURE_CHARS) {
+            return null;
+        }
+        int campaignDigits = valueOf(token.charAt(0));
+        int targetDigits = valueOf(token.charAt(1));
+        if (campaignDigits <= 0 || targetDigits <= 0
+            || token.length() != 2 + campaignDigits + targetDigits + SIGNATURE_CHARS) {
+            return null;
+        }
+        int offset = 2;
+        long campaignId = parse(token, offset, campaignDigits);
+        offset += campaignDigits;
+        long targetId = parse(token, offset, targetDigits);
+        offset += targetDigits;
+        long signature = parse(token, offset, SIGNATURE_CHARS);
+        if (campaignId < 0 || targetId < 0 || signature < 0) {
+            return null;
+        }
+        // 상수 시간 비교
+        if ((signature ^ signature(campaignId, targetId)) != 0) {
+            return null;
+        }
+        return new Decoded(campaignId, targetId);
+    }
+
+    private long signature(long campaignId, long targetId) {
+        Mac mac = macs.get();
+        byte[] input = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            input[i] = (byte) (campaignId >>> (56 - 8 * i));
+            input[8 + i] = (byte) (targetId >>> (56 - 8 * i));
+        }
+        byte[] digest = mac.doFinal(input);
+        long value = 0;
+        for (int i = 0; i < 5; i++) {
+            value = (value << 8) | (digest[i] & 0xFF);
+        }
+        return value & SIGNATURE_MASK;
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        while ((value /= 62) > 0) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private static void appendFixed(StringBuilder out, long value, int digits) {
+        int start = out.length();
+        out.setLength(start + digits);
+        for (int i = digits - 1; i >= 0; i--) {
+            out.setCharAt(start + i, ALPHABET[(int) (value % 62)]);
+            value /= 62;
+        }
+    }
+
+    // 잘못된 문자나 long 범위 초과 시 -1
+    private static long parse(String token, int offset, int digits) {
+        if (digits > 10) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = offset; i < offset + digits; i++) {
+            int digit = valueOf(token.charAt(i));
+            if (digit < 0) {
+                return -1;
+            }
+            value = value * 62 + digit;
+        }
+        return value;
+    }
+
+    private static int valueOf(char ch) {
+        if (ch >= '0' && ch <= '9') {
+            return ch - '0';
+        }
+        if (ch >= 'A' && ch <= 'Z') {
+            return ch - 'A' + 10;
+        }
+        if (ch >= 'a' && ch <= 'z') {
+            return ch - 'a' + 36;
+        }
+        return -1;
+    }
+}
@@ -20,7 +20,7 @@ import java.util.Map;
  * 
  * 주요 기능:
  * - 포인트 충전 및 거래 내역 생성
- * - 캠페인 발송을 위한 포인트 차감
+ * - 캠페인 발송을 위한 포인트 차감 및 미발송분 환불
  * - 실시간 잔액 계산 (거래 내역 합계 기반)
  * - 거래 내역 페이징 조회
  * 
@@ -32,6 +32,7 @@ import java.util.Map;
  * 잔액 계산 방식:
  * - 충전(CHARGE): 양수 금액
  * - 차감(DEBIT): 음수 금액
+ * - 환불(REFUND): 양수 금액
  * - 현재 잔액 = 모든 거래 내역의 amount 합계
  * 
  * @author KT 위치 문자 서비스 팀
@@ -98,6 +99,30 @@ public class WalletService implements WalletServiceInterface {
         return walletTransactionRepository.save(transaction);
     }
     
+    @Transactional
+    public WalletTransaction refundForCampaign(Long userId, Long amount, Long campaignId) {
+        AppUser user = appUserRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+        
+        // 실제 거래 내역 합계로 현재 잔액 계산
+        Long currentBalance = walletTransactionRepository.calculateActualBalanceByUserId(userId);
+        Long newBalance = currentBalance + amount;
+        
+        // 사용자 포인트 업데이트
+        user.setPoints(newBalance);
+        appUserRepository.save(user);
+        
+        // 거래 기록 생성
+        WalletTransaction transaction = new WalletTransaction();
+        transaction.setUser(user);
+        transaction.setType(WalletTransaction.Type.REFUND);
+        transaction.setAmount(amount);
+        transaction.setBalanceAfter(newBalance);
+        transaction.setMeta(Map.of("campaign_id", campaignId));
+        
+        return walletTransactionRepository.save(transaction);
+    }
+    
     public Long getCurrentBalance(Long userId) {
         // 실제 거래 내역 합계로 정확한 잔액 계산
         Long actualBalance = walletTransactionRepository.calculateActualBalanceByUserId(userId);
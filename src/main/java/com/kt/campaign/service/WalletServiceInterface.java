@@ -14,7 +14,7 @@ import java.util.Map;
  * 
  * 주요 기능:
  * - 포인트 충전 및 거래 내역 생성
- * - 캠페인 발송을 위한 포인트 차감
+ * - 캠페인 발송을 위한 포인트 차감 및 미발송분 환불
  * - 실시간 잔액 계산 (거래 내역 기반)
  * - 거래 내역 페이징 조회
  * 
@@ -37,6 +37,11 @@ public interface WalletServiceInterface {
      */
     WalletTransaction debitForCampaign(Long userId, Long amount, Long campaignId);
     
+    /**
+     * 캠페인 차감액 중 실제 발송되지 않는 금액 환불
+     */
+    WalletTransaction refundForCampaign(Long userId, Long amount, Long campaignId);
+    
     /**
      * 현재 포인트 잔액 조회
      */
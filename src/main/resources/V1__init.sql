@@ -39,10 +39,14 @@ CREATE TABLE IF NOT EXISTS campaigns (
   message_text         TEXT,
   link                 VARCHAR(500),
   filters              JSONB,
+  filter_key           VARCHAR(64),         -- 정규화 필터 키 (CampaignFilter.canonicalKey)
   price_per_recipient  INT,
   estimated_cost       BIGINT,
   final_cost           BIGINT,
   recipients_count     INT,
+  sent_count           INT DEFAULT 0,       -- 발송 처리 완료 대상자 수 (진행률)
+  frequency_cap_excluded INT,               -- 빈도 제한으로 제외된 조건 일치 고객 수
+  scheduled_at         TIMESTAMPTZ,         -- 예약 발송 시각 (status = 'SCHEDULED')
   status               TEXT,
   created_at           TIMESTAMPTZ NOT NULL DEFAULT NOW()
 );
@@ -58,6 +62,53 @@ CREATE TABLE IF NOT EXISTS campaign_targets (
   click_at         TIMESTAMPTZ
 );
 
+-- 캠페인 발송 작업 큐 (SELECT ... FOR UPDATE SKIP LOCKED 로 워커가 가져감)
+CREATE TABLE IF NOT EXISTS campaign_send_jobs (
+  id              BIGSERIAL PRIMARY KEY,
+  campaign_id     BIGINT NOT NULL REFERENCES campaigns(id),
+  type            TEXT NOT NULL,       -- TARGET | DELIVER
+  from_target_id  BIGINT,
+  to_target_id    BIGINT,
+  virtual_start   DOUBLE PRECISION,    -- 공정 분배 가상 시작 시각 (TARGET 은 NULL)
+  status          TEXT NOT NULL,       -- QUEUED | RUNNING | DONE | FAILED
+  attempts        INT DEFAULT 0,
+  locked_by       VARCHAR(100),
+  locked_at       TIMESTAMPTZ,
+  heartbeat_at    TIMESTAMPTZ,         -- 처리 중 워커 생존 신호
+  checkpoint_target_id BIGINT,         -- 결과 반영 완료된 마지막 대상자 id
+  last_error      TEXT,
+  created_at      TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  updated_at      TIMESTAMPTZ
+);
+
+-- 캠페인 시간별 발송/읽음/클릭 집계 (발송 결과, 읽음/클릭 반영 시 증분 UPSERT)
+CREATE TABLE IF NOT EXISTS campaign_hourly_stats (
+  campaign_id  BIGINT NOT NULL REFERENCES campaigns(id),
+  hour_bucket  TIMESTAMP NOT NULL,     -- 시각을 시간 단위로 자른 값
+  sent_count   BIGINT NOT NULL DEFAULT 0,
+  read_count   BIGINT NOT NULL DEFAULT 0,
+  click_count  BIGINT NOT NULL DEFAULT 0,
+  PRIMARY KEY (campaign_id, hour_bucket)
+);
+
+-- 캠페인별 대상자 연령대 × 성별 인원 (대상자 생성 시 한 번 채움)
+CREATE TABLE IF NOT EXISTS campaign_demographics (
+  campaign_id   BIGINT NOT NULL REFERENCES campaigns(id),
+  age_band      SMALLINT NOT NULL,      -- 20 | 30 | 40 | 50 | 60 (20 미만은 20, 60 이상은 60)
+  gender        VARCHAR(10) NOT NULL,
+  target_count  BIGINT NOT NULL DEFAULT 0,
+  PRIMARY KEY (campaign_id, age_band, gender)
+);
+
+-- 사용자별 완료 캠페인 대상자 연령대 × 성별 인원 (캠페인 완료 시 캠페인 분포를 더함)
+CREATE TABLE IF NOT EXISTS user_demographics (
+  user_id       BIGINT NOT NULL REFERENCES app_users(id),
+  age_band      SMALLINT NOT NULL,
+  gender        VARCHAR(10) NOT NULL,
+  target_count  BIGINT NOT NULL DEFAULT 0,
+  PRIMARY KEY (user_id, age_band, gender)
+);
+
 -- 지갑 거래 원장
 CREATE TABLE IF NOT EXISTS wallet_transactions (
   id             BIGSERIAL PRIMARY KEY,
@@ -84,7 +135,17 @@ CREATE TABLE IF NOT EXISTS chat_messages (
 CREATE INDEX IF NOT EXISTS idx_customers_gender       ON customers(gender);
 CREATE INDEX IF NOT EXISTS idx_customers_birth_year   ON customers(birth_year);
 CREATE INDEX IF NOT EXISTS idx_customers_region       ON customers(sido, sigungu);
+CREATE INDEX IF NOT EXISTS idx_customers_sigungu      ON customers(sigungu);
+CREATE INDEX IF NOT EXISTS idx_customers_gender_birth ON customers(gender, birth_year);
 CREATE INDEX IF NOT EXISTS idx_customers_geom_gist    ON customers USING GIST(geom);
 
+CREATE INDEX IF NOT EXISTS idx_campaigns_filter_key   ON campaigns(filter_key);
+CREATE INDEX IF NOT EXISTS idx_campaigns_scheduled    ON campaigns(scheduled_at) WHERE status = 'SCHEDULED';
+
 CREATE INDEX IF NOT EXISTS idx_ct_campaign_id         ON campaign_targets(campaign_id);
+CREATE INDEX IF NOT EXISTS idx_ct_campaign_target_id  ON campaign_targets(campaign_id, id);
 CREATE INDEX IF NOT EXISTS idx_ct_delivery_status     ON campaign_targets(delivery_status);
+CREATE INDEX IF NOT EXISTS idx_ct_sent_at             ON campaign_targets(sent_at);
+
+CREATE INDEX IF NOT EXISTS idx_send_jobs_queued       ON campaign_send_jobs(virtual_start NULLS FIRST, id) WHERE status = 'QUEUED';
+CREATE INDEX IF NOT EXISTS idx_send_jobs_campaign     ON campaign_send_jobs(campaign_id, status);
@@ -5,7 +5,17 @@
 CREATE INDEX IF NOT EXISTS idx_customers_gender       ON customers(gender);
 CREATE INDEX IF NOT EXISTS idx_customers_birth_year   ON customers(birth_year);
 CREATE INDEX IF NOT EXISTS idx_customers_region       ON customers(sido, sigungu);
+CREATE INDEX IF NOT EXISTS idx_customers_sigungu      ON customers(sigungu);
+CREATE INDEX IF NOT EXISTS idx_customers_gender_birth ON customers(gender, birth_year);
 CREATE INDEX IF NOT EXISTS idx_customers_geom_gist    ON customers USING GIST(geom);
 
+CREATE INDEX IF NOT EXISTS idx_campaigns_filter_key   ON campaigns(filter_key);
+CREATE INDEX IF NOT EXISTS idx_campaigns_scheduled    ON campaigns(scheduled_at) WHERE status = 'SCHEDULED';
+
 CREATE INDEX IF NOT EXISTS idx_ct_campaign_id         ON campaign_targets(campaign_id);
-CREATE INDEX IF NOT EXISTS idx_ct_delivery_status     ON campaign_targets(delivery_status);
\ No newline at end of file
+CREATE INDEX IF NOT EXISTS idx_ct_campaign_target_id  ON campaign_targets(campaign_id, id);
+CREATE INDEX IF NOT EXISTS idx_ct_delivery_status     ON campaign_targets(delivery_status);
+CREATE INDEX IF NOT EXISTS idx_ct_sent_at             ON campaign_targets(sent_at);
+
+CREATE INDEX IF NOT EXISTS idx_send_jobs_queued       ON campaign_send_jobs(virtual_start NULLS FIRST, id) WHERE status = 'QUEUED';
+CREATE INDEX IF NOT EXISTS idx_send_jobs_campaign     ON campaign_send_jobs(campaign_id, status);
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.kt.campaign.repository;
+
+import com.kt.campaign.entity.CampaignFilter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CustomerQueryBuilder 조건이 의도한 인덱스로 실행되는지 EXPLAIN 으로 확인 (PostGIS 컨테이너, Docker 없으면 건너뜀)
+ *
+ * 순차 스캔을 끈 세션에서 실행 계획을 확인하므로, 조건이 인덱스를 탈 수 없는 형태로 바뀌면
+ * 데이터 분포와 무관하게 실패합니다.
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class CustomerIndexUsageTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGIS = new PostgreSQLContainer<>(
+        DockerImageName.parse("postgis/postgis:15-3.4").asCompatibleSubstituteFor("postgres"));
+
+    private static SingleConnectionDataSource dataSource;
+    private static NamedParameterJdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        dataSource = new SingleConnectionDataSource(POSTGIS.getJdbcUrl(), POSTGIS.getUsername(), POSTGIS.getPassword(), true);
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("V1__init.sql"));
+        }
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        jdbcTemplate.getJdbcTemplate().update(
+            "INSERT INTO customers (name, gender, birth_year, sido, sigungu, lat, lng, geom) " +
+            "SELECT 'customer' || g, CASE WHEN g % 2 = 0 THEN 'M' ELSE 'F' END, 1950 + g % 55, " +
+            "(ARRAY['서울특별시', '부산광역시', '대구광역시', '인천광역시'])[1 + g % 4], 'sigungu-' || (g % 25), " +
+            "37.0 + (g % 1000) / 1000.0, 127.0 + (g / 1000) / 100.0, " +
+            "CAST(ST_SetSRID(ST_MakePoint(127.0 + (g / 1000) / 100.0, 37.0 + (g % 1000) / 1000.0), 4326) AS geography) " +
+            "FROM generate_series(1, 20000) g");
+        jdbcTemplate.getJdbcTemplate().execute("ANALYZE customers");
+        jdbcTemplate.getJdbcTemplate().execute("SET enable_seqscan = off");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (dataSource != null) {
+            dataSource.destroy();
+        }
+    }
+
+    @Test
+    void genderWithAgeUsesGenderBirthIndex() {
+        assertThat(plan(CampaignFilter.of("M", null, null, 30, 39))).contains("idx_customers_gender_birth");
+    }
+
+    @Test
+    void regionUsesRegionIndex() {
+        assertThat(plan(CampaignFilter.of(null, "서울특별시", "sigungu-4", null, null))).contains("idx_customers_region");
+    }
+
+    @Test
+    void radiusUsesGistIndex() {
+        CampaignFilter filter = CampaignFilter.from(Map.of("radius",
+            Map.of("enabled", true, "value", Map.of("lat", 37.5, "lng", 127.05, "meters", 2000))));
+
+        assertThat(plan(filter)).contains("idx_customers_geom_gist");
+    }
+
+    @Test
+    void combinedFilterDoesNotFallBackToSequentialScan() {
+        CampaignFilter filter = new CampaignFilter("F", "부산광역시", null, 20, 49, 37.5, 127.05, 5000, 4);
+
+        assertThat(plan(filter)).doesNotContain("Seq Scan");
+    }
+
+    private static String plan(CampaignFilter filter) {
+        CustomerQueryBuilder builder = CustomerQueryBuilder.of(filter);
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + builder.count(), builder.params(), String.class));
+    }
+}
@@ -0,0 +1,147 @@
+package com.kt.campaign.repository;
+
+import com.kt.campaign.entity.CampaignFilter;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CustomerQueryBuilder 가 활성화된 조건만, 인덱스를 탈 수 있는 형태로 만드는지 확인
+ *
+ * @author KT 위치 문자 서비스 팀
+ */
+class CustomerQueryBuilderTest {
+
+    private static final int YEAR = java.time.Year.now().getValue();
+
+    @Test
+    void emptyFilterHasNoWhereClause() {
+        CustomerQueryBuilder builder = CustomerQueryBuilder.of(CampaignFilter.EMPTY);
+
+        assertThat(builder.where()).isEmpty();
+        assertThat(builder.count()).isEqualTo("SELECT COUNT(*) FROM customers c");
+        assertThat(builder.params()).isEmpty();
+    }
+
+    @Test
+    void genderOnly() {
+        CustomerQueryBuilder builder = CustomerQueryBuilder.of(CampaignFilter.of("M", null, null, null, null));
+
+        assertThat(builder.where()).isEqualTo(" WHERE c.gender = :gender");
+        assertThat(builder.params()).containsExactly(Map.entry("gender", "M"));
+    }
+
+    @Test
+    void sidoAndSigunguUseEqualityForRegionIndex() {
+        CustomerQueryBuilder builder = CustomerQueryBuilder.of(CampaignFilter.of(null, "서울특별시", "강남구", null, null));
+
+        assertThat(builder.where()).isEqualTo(" WHERE c.sido = :sido AND c.sigungu = :sigungu");
+        assertThat(builder.params()).containsExactly(Map.entry("sido", "서울특별시"), Map.entry("sigungu", "강남구"));
+    }
+
+    @Test
+    void sigunguOnly() {
+        CustomerQueryBuilder builder = CustomerQueryBuilder.of(CampaignFilter.of(null, null, "강남구", null, null));
+
+        assertThat(builder.where()).isEqualTo(" WHERE c.sigungu = :sigungu");
+    }
+
+    @Test
+    void blankValuesAreIgnored() {
+        CustomerQueryBuilder builder = CustomerQueryBuilder.of(CampaignFilter.of(" ", "", null, null, null));
+
+        assertThat(builder.where()).isEmpty();
+    }
+
+    @Test
+    void ageRangeBecomesBirthYearBetween() {
+        CustomerQueryBuilder builder = CustomerQueryBuilder.of(CampaignFilter.of(null, null, null, 20, 29));
+
+        assertThat(builder.where()).isEqualTo(" WHERE c.birth_year BETWEEN :minBirthYear AND :maxBirthYear");
+        assertThat(builder.params()).containsExactly(
+            Map.entry("minBirthYear", YEAR - 29), Map.entry("maxBirthYear", YEAR - 20));
+    }
+
+    @Test
+    void ageLowerBoundOnly() {
+        CustomerQueryBuilder builder = CustomerQueryBuilder.of(CampaignFilter.of(null, null, null, 30, null));
+
+        assertThat(builder.where()).isEqualTo(" WHERE c.birth_year <= :maxBirthYear");
+        assertThat(builder.params()).containsExactly(Map.entry("maxBirthYear", YEAR - 30));
+    }
+
+    @Test
+    void ageUpperBoundOnly() {
+        CustomerQueryBuilder builder = CustomerQueryBuilder.of(CampaignFilter.of(null, null, null, null, 60));
+
+        assertThat(builder.where()).isEqualTo(" WHERE c.birth_year >= :minBirthYear");
+        assertThat(builder.params()).containsExactly(Map.entry("minBirthYear", YEAR - 60));
+    }
+
+    @Test
+    void radiusUsesDWithinOnGeography() {
+        CustomerQueryBuilder builder = CustomerQueryBuilder.of(radius(37.5, 127.0, 1000));
+
+        assertThat(builder.where()).isEqualTo(" WHERE ST_DWithin(c.geom, "
+            + "CAST(ST_SetSRID(ST_MakePoint(:centerLng, :centerLat), 4326) AS geography), :radiusMeters)");
+        assertThat(builder.params()).containsExactly(
+            Map.entry("centerLat", 37.5), Map.entry("centerLng", 127.0), Map.entry("radiusMeters", 1000));
+    }
+
+    @Test
+    void incompleteRadiusIsIgnored() {
+        CampaignFilter filter = CampaignFilter.from(Map.of("radius",
+            Map.of("enabled", true, "value", Map.of("lat", 37.5, "lng", 127.0))));
+
+        assertThat(CustomerQueryBuilder.of(filter).where()).isEmpty();
+    }
+
+    @Test
+    void allConditionsAreJoinedInFixedOrder() {
+        CampaignFilter filter = new CampaignFilter("F", "서울특별시", "강남구", 20, 39, 37.5, 127.0, 500, 4);
+        CustomerQueryBuilder builder = CustomerQueryBuilder.of(filter);
+
+        assertThat(builder.where()).isEqualTo(" WHERE c.gender = :gender AND c.sido = :sido AND c.sigungu = :sigungu"
+            + " AND c.birth_year BETWEEN :minBirthYear AND :maxBirthYear"
+            + " AND ST_DWithin(c.geom, CAST(ST_SetSRID(ST_MakePoint(:centerLng, :centerLat), 4326) AS geography), :radiusMeters)");
+        assertThat(builder.params()).containsOnlyKeys(
+            "gender", "sido", "sigungu", "minBirthYear", "maxBirthYear", "centerLat", "centerLng", "radiusMeters");
+    }
+
+    @Test
+    void afterAddsKeysetPredicate() {
+        CustomerQueryBuilder builder = CustomerQueryBuilder.of(CampaignFilter.of("M", null, null, null, null)).after(100L);
+
+        assertThat(builder.where()).isEqualTo(" WHERE c.gender = :gender AND c.id > :after");
+        assertThat(builder.params()).containsEntry("after", 100L);
+        assertThat(CustomerQueryBuilder.of(CampaignFilter.EMPTY).after(null).where()).isEmpty();
+    }
+
+    @Test
+    void excludingUsesHashedArraySubplan() {
+        CustomerQueryBuilder builder = CustomerQueryBuilder.of(CampaignFilter.EMPTY).excluding(RoaringBitmap.bitmapOf(3, 1, 7));
+
+        assertThat(builder.where()).isEqualTo(" WHERE c.id NOT IN (SELECT unnest(CAST(:excludedIds AS BIGINT[])))");
+        assertThat(builder.params()).containsExactly(Map.entry("excludedIds", "{1,3,7}"));
+        assertThat(CustomerQueryBuilder.of(CampaignFilter.EMPTY).excluding(new RoaringBitmap()).where()).isEmpty();
+    }
+
+    @Test
+    void withinUsesPrimaryKeyArray() {
+        CustomerQueryBuilder builder = CustomerQueryBuilder.of(CampaignFilter.of("F", null, null, null, null))
+            .within(RoaringBitmap.bitmapOf(2, 9));
+
+        assertThat(builder.where()).isEqualTo(" WHERE c.gender = :gender AND c.id = ANY(CAST(:withinIds AS BIGINT[]))");
+        assertThat(builder.params()).containsEntry("withinIds", "{2,9}");
+        assertThat(CustomerQueryBuilder.of(CampaignFilter.EMPTY).within(new RoaringBitmap()).params())
+            .containsEntry("withinIds", "{}");
+    }
+
+    private static CampaignFilter radius(double lat, double lng, int meters) {
+        return CampaignFilter.from(Map.of("radius",
+            Map.of("enabled", true, "value", Map.of("lat", lat, "lng", lng, "meters", meters))));
+    }
+}